@@ -0,0 +1,20 @@
+package com.emocional.auth.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Variante reactiva del Auth Service: mismos contratos de /api/v1/auth/login y /register
+ * sobre WebFlux (Netty) y R2DBC. Comparte el esquema de base de datos (migraciones Flyway del
+ * servicio MVC) y el secreto JWT, así que los tokens emitidos son intercambiables.
+ * La programación de tareas recarga el índice de contraseñas filtradas.
+ */
+@SpringBootApplication
+@EnableScheduling
+public class ReactiveAuthServiceApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveAuthServiceApplication.class, args);
+    }
+}
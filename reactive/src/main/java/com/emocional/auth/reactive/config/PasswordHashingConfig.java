@@ -0,0 +1,50 @@
+package com.emocional.auth.reactive.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+
+/**
+ * Hashing de contraseñas fuera del event loop de Netty.
+ * BCrypt se ejecuta en un scheduler acotado (hilos = núcleos, cola limitada); con la cola llena
+ * Reactor rechaza la tarea y se responde 503 en lugar de acumular trabajo sin límite.
+ */
+@Configuration
+public class PasswordHashingConfig {
+
+    // Coste de BCrypt, igual que auth.password.bcrypt.strength del servicio MVC
+    @Value("${auth.password.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    // Hilos dedicados a BCrypt (0 = número de núcleos disponibles)
+    @Value("${auth.password-hashing.threads:0}")
+    private int hashingThreads;
+
+    // Operaciones de hashing que pueden esperar en cola antes de responder 503
+    @Value("${auth.password-hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+
+    /**
+     * Mismo formato de hash que el servicio MVC: prefijo {bcrypt} y hashes sin prefijo verificados como BCrypt.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler passwordHashingScheduler() {
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        return Schedulers.newBoundedElastic(threads, hashingQueueCapacity, "password-hashing");
+    }
+}
@@ -0,0 +1,50 @@
+package com.emocional.auth.reactive.controller;
+
+import com.emocional.auth.reactive.dto.AuthResponse;
+import com.emocional.auth.reactive.dto.LoginRequest;
+import com.emocional.auth.reactive.dto.RegisterRequest;
+import com.emocional.auth.reactive.service.AuthService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Mismo contrato que el AuthController del servicio MVC para registro e inicio de sesión.
+ */
+@RestController
+@RequestMapping("/api/v1/auth")
+@RequiredArgsConstructor
+public class AuthController {
+
+    private final AuthService authService;
+
+    /**
+     * @return 201 Created con el JWT y el refresh token; 400 si faltan datos o el email ya existe.
+     */
+    @PostMapping("/register")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<AuthResponse> register(@RequestBody RegisterRequest request) {
+        return authService.register(request);
+    }
+
+    /**
+     * @return 200 OK con el JWT y el refresh token; 401 si las credenciales no son válidas;
+     *         429 con Retry-After si se supera el límite de intentos.
+     */
+    @PostMapping("/login")
+    public Mono<AuthResponse> login(@RequestBody LoginRequest request, ServerHttpRequest httpRequest) {
+        InetSocketAddress remoteAddress = httpRequest.getRemoteAddress();
+        String clientAddress = remoteAddress != null && remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress()
+                : "unknown";
+        return authService.login(request, clientAddress);
+    }
+}
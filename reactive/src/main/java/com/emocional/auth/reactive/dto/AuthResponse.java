@@ -0,0 +1,14 @@
+package com.emocional.auth.reactive.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthResponse {
+    private String token;
+    // Token opaco de larga duración para obtener nuevos tokens de acceso sin reenviar la contraseña
+    private String refreshToken;
+}
@@ -0,0 +1,31 @@
+package com.emocional.auth.reactive.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO estandarizado para todas las respuestas de error de la API (igual que en el servicio MVC).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorResponse {
+
+    private String message;
+
+    private int status;
+
+    private String error;
+
+    private LocalDateTime timestamp = LocalDateTime.now();
+
+    public ErrorResponse(String message, int status, String error) {
+        this.message = message;
+        this.status = status;
+        this.error = error;
+        this.timestamp = LocalDateTime.now();
+    }
+}
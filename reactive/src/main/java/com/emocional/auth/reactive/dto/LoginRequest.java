@@ -0,0 +1,12 @@
+package com.emocional.auth.reactive.dto;
+
+import lombok.Data;
+
+/**
+ * DTO para la solicitud de inicio de sesión.
+ */
+@Data
+public class LoginRequest {
+    private String email;
+    private String password;
+}
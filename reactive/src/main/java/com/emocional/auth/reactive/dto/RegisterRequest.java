@@ -0,0 +1,13 @@
+package com.emocional.auth.reactive.dto;
+
+import lombok.Data;
+
+/**
+ * DTO para la solicitud de registro.
+ */
+@Data
+public class RegisterRequest {
+    private String name;
+    private String email;
+    private String password;
+}
@@ -0,0 +1,11 @@
+package com.emocional.auth.reactive.exception;
+
+/**
+ * Email o contraseña incorrectos (401). Sin stack trace: es un resultado esperado del login.
+ */
+public class BadCredentialsException extends RuntimeException {
+
+    public BadCredentialsException() {
+        super("Bad credentials", null, false, false);
+    }
+}
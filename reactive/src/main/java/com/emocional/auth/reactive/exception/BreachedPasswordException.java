@@ -0,0 +1,11 @@
+package com.emocional.auth.reactive.exception;
+
+/**
+ * Se lanza al registrar una contraseña que aparece en filtraciones conocidas (400, como en el servicio MVC).
+ */
+public class BreachedPasswordException extends IllegalArgumentException {
+
+    public BreachedPasswordException() {
+        super("La contraseña aparece en filtraciones de datos conocidas. Elige otra.");
+    }
+}
@@ -0,0 +1,17 @@
+package com.emocional.auth.reactive.exception;
+
+import lombok.Getter;
+
+/**
+ * La cola del scheduler de hashing está llena (503 con Retry-After).
+ */
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(long retryAfterSeconds, Throwable cause) {
+        super("El servicio está saturado. Por favor, intenta de nuevo en unos segundos.", cause);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
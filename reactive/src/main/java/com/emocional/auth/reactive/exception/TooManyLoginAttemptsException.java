@@ -0,0 +1,17 @@
+package com.emocional.auth.reactive.exception;
+
+import lombok.Getter;
+
+/**
+ * Intentos de login por encima del límite por IP o por cuenta (429 con Retry-After).
+ */
+@Getter
+public class TooManyLoginAttemptsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyLoginAttemptsException(long retryAfterSeconds) {
+        super("Demasiados intentos de inicio de sesión. Intenta de nuevo más tarde.", null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
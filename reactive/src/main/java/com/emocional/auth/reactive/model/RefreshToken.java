@@ -0,0 +1,37 @@
+package com.emocional.auth.reactive.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+/**
+ * Fila de refresh_token. Solo se guarda el hash SHA-256 del token; la rotación la sigue
+ * resolviendo el servicio MVC (/api/v1/auth/refresh).
+ */
+@Table("refresh_token")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken {
+
+    @Id
+    private Long id;
+
+    private String tokenHash;
+
+    private String familyId;
+
+    private Long userId;
+
+    private Instant createdAt;
+
+    private Instant expiresAt;
+
+    private Instant revokedAt;
+}
@@ -0,0 +1,7 @@
+package com.emocional.auth.reactive.repository;
+
+import com.emocional.auth.reactive.model.RefreshToken;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+public interface RefreshTokenRepository extends ReactiveCrudRepository<RefreshToken, Long> {
+}
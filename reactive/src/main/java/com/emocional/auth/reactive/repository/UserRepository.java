@@ -0,0 +1,18 @@
+package com.emocional.auth.reactive.repository;
+
+import com.emocional.auth.reactive.model.User;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Repositorio reactivo para app_user.
+ */
+public interface UserRepository extends ReactiveCrudRepository<User, Long> {
+
+    /**
+     * Búsqueda sin distinguir mayúsculas; usa el índice funcional ux_app_user_email_lower.
+     */
+    @Query("SELECT * FROM app_user WHERE lower(email) = lower(:email)")
+    Mono<User> findByEmail(String email);
+}
@@ -0,0 +1,123 @@
+package com.emocional.auth.reactive.security;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Índice de solo lectura de hashes SHA-1 de contraseñas filtradas: un fichero de registros de 20 bytes
+ * ordenados (generado con BreachedPasswordIndexBuilder del servicio MVC) proyectado en memoria con NIO.
+ * Cada consulta es una búsqueda binaria (~30 comparaciones para mil millones de hashes) sobre páginas
+ * del page cache del sistema operativo, sin copiar el fichero al heap.
+ * Un MappedByteBuffer no puede pasar de 2 GB, así que el fichero se proyecta por segmentos.
+ */
+public final class BreachedPasswordIndex {
+
+    public static final int RECORD_SIZE = 20;
+
+    // ~1 GB por segmento, múltiplo del tamaño de registro
+    static final int DEFAULT_RECORDS_PER_SEGMENT = (1 << 30) / RECORD_SIZE;
+
+    private final MappedByteBuffer[] segments;
+    private final int recordsPerSegment;
+    private final long records;
+
+    private BreachedPasswordIndex(MappedByteBuffer[] segments, int recordsPerSegment, long records) {
+        this.segments = segments;
+        this.recordsPerSegment = recordsPerSegment;
+        this.records = records;
+    }
+
+    public static BreachedPasswordIndex open(Path file) throws IOException {
+        return open(file, DEFAULT_RECORDS_PER_SEGMENT);
+    }
+
+    static BreachedPasswordIndex open(Path file, int recordsPerSegment) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % RECORD_SIZE != 0) {
+                throw new IOException("Índice de contraseñas filtradas corrupto (" + size
+                        + " bytes, no es múltiplo de " + RECORD_SIZE + "): " + file);
+            }
+            long records = size / RECORD_SIZE;
+            int segmentCount = (int) ((records + recordsPerSegment - 1) / recordsPerSegment);
+            MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+            long segmentBytes = (long) recordsPerSegment * RECORD_SIZE;
+            for (int i = 0; i < segmentCount; i++) {
+                long offset = i * segmentBytes;
+                // La proyección sigue siendo válida después de cerrar el canal
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(segmentBytes, size - offset));
+            }
+            return new BreachedPasswordIndex(segments, recordsPerSegment, records);
+        }
+    }
+
+    public long size() {
+        return records;
+    }
+
+    public boolean containsPassword(CharSequence password) {
+        return contains(sha1(password));
+    }
+
+    /**
+     * @param hash SHA-1 de 20 bytes.
+     */
+    public boolean contains(byte[] hash) {
+        long keyHigh = readLong(hash, 0);
+        long keyMiddle = readLong(hash, 8);
+        int keyLow = readInt(hash, 16);
+
+        long low = 0;
+        long high = records - 1;
+        while (low <= high) {
+            long middle = (low + high) >>> 1;
+            MappedByteBuffer segment = segments[(int) (middle / recordsPerSegment)];
+            int offset = (int) (middle % recordsPerSegment) * RECORD_SIZE;
+            // Big-endian sin signo: mismo orden que la comparación byte a byte del fichero ordenado
+            int comparison = Long.compareUnsigned(segment.getLong(offset), keyHigh);
+            if (comparison == 0) {
+                comparison = Long.compareUnsigned(segment.getLong(offset + 8), keyMiddle);
+            }
+            if (comparison == 0) {
+                comparison = Integer.compareUnsigned(segment.getInt(offset + 16), keyLow);
+            }
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static byte[] sha1(CharSequence password) {
+        try {
+            return MessageDigest.getInstance("SHA-1").digest(password.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-1 no disponible", ex);
+        }
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) << 24
+                | (bytes[offset + 1] & 0xFF) << 16
+                | (bytes[offset + 2] & 0xFF) << 8
+                | (bytes[offset + 3] & 0xFF);
+    }
+}
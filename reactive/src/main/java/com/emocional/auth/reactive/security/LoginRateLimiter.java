@@ -0,0 +1,94 @@
+package com.emocional.auth.reactive.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Límite de intentos de login por IP y por cuenta, con los mismos parámetros (auth.rate-limit.*)
+ * y el mismo algoritmo que el LoginRateLimitFilter del servicio MVC, para que ninguna de las dos
+ * variantes sea una vía para probar contraseñas sin límite.
+ * Se comprueba antes de la consulta y de BCrypt; sin estado compartido entre instancias.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final boolean enabled;
+    private final Limiter ipLimiter;
+    private final Limiter accountLimiter;
+
+    public LoginRateLimiter(MeterRegistry meterRegistry,
+                            @Value("${auth.rate-limit.enabled:true}") boolean enabled,
+                            @Value("${auth.rate-limit.ip.permits-per-minute:60}") int ipPermitsPerMinute,
+                            @Value("${auth.rate-limit.ip.burst:20}") int ipBurst,
+                            @Value("${auth.rate-limit.account.permits-per-minute:10}") int accountPermitsPerMinute,
+                            @Value("${auth.rate-limit.account.burst:5}") int accountBurst,
+                            @Value("${auth.rate-limit.max-keys:100000}") long maxKeys,
+                            @Value("${auth.rate-limit.idle-timeout:10m}") Duration idleTimeout) {
+        this.enabled = enabled;
+        this.ipLimiter = new Limiter("ip", ipPermitsPerMinute, ipBurst, maxKeys, idleTimeout, meterRegistry);
+        this.accountLimiter = new Limiter("account", accountPermitsPerMinute, accountBurst, maxKeys, idleTimeout, meterRegistry);
+    }
+
+    /**
+     * Consume un permiso de la IP y, si se admite, de la cuenta.
+     * @return 0 si se admite; si no, los segundos (redondeados hacia arriba) para el Retry-After.
+     */
+    public long tryAcquire(String clientAddress, String email) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        long waitNanos = ipLimiter.tryAcquire(clientAddress, now);
+        if (waitNanos == 0 && email != null) {
+            waitNanos = accountLimiter.tryAcquire(email.trim().toLowerCase(Locale.ROOT), now);
+        }
+        return waitNanos == 0
+                ? 0
+                : Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    /**
+     * Conjunto acotado de buckets por clave con sus contadores de admitidas/rechazadas.
+     */
+    private static final class Limiter {
+
+        private final Cache<String, TokenBucket> buckets;
+        private final long emissionIntervalNanos;
+        private final int burst;
+        private final Counter admitted;
+        private final Counter rejected;
+
+        Limiter(String scope, int permitsPerMinute, int burst, long maxKeys, Duration idleTimeout,
+                MeterRegistry meterRegistry) {
+            this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, permitsPerMinute);
+            this.burst = burst;
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(idleTimeout)
+                    .build();
+            this.admitted = Counter.builder("auth.ratelimit.requests")
+                    .tag("scope", scope)
+                    .tag("outcome", "admitted")
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("auth.ratelimit.requests")
+                    .tag("scope", scope)
+                    .tag("outcome", "rejected")
+                    .register(meterRegistry);
+        }
+
+        long tryAcquire(String key, long nowNanos) {
+            long waitNanos = buckets.get(key, k -> new TokenBucket(emissionIntervalNanos, burst, nowNanos))
+                    .tryAcquire(nowNanos);
+            (waitNanos == 0 ? admitted : rejected).increment();
+            return waitNanos;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.emocional.auth.reactive.service;
+
+import com.emocional.auth.reactive.dto.AuthResponse;
+import com.emocional.auth.reactive.dto.LoginRequest;
+import com.emocional.auth.reactive.dto.RegisterRequest;
+import com.emocional.auth.reactive.exception.BadCredentialsException;
+import com.emocional.auth.reactive.exception.BreachedPasswordException;
+import com.emocional.auth.reactive.exception.ServiceOverloadedException;
+import com.emocional.auth.reactive.exception.TooManyLoginAttemptsException;
+import com.emocional.auth.reactive.model.User;
+import com.emocional.auth.reactive.repository.UserRepository;
+import com.emocional.auth.reactive.security.LoginRateLimiter;
+import com.emocional.auth.reactive.util.JwtUtil;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Registro e inicio de sesión sin bloquear el event loop: las consultas son R2DBC y BCrypt
+ * se ejecuta en el scheduler acotado passwordHashingScheduler.
+ * Aplica las mismas defensas que el servicio MVC: límite de intentos de login, contraseñas filtradas
+ * en el registro y un BCrypt de relleno para emails desconocidos (mismo tiempo de respuesta que una
+ * contraseña incorrecta, así que el login no revela qué emails están registrados).
+ */
+@Service
+@RequiredArgsConstructor
+public class AuthService {
+
+    public static final String EMAIL_IN_USE_MESSAGE = "El email ya está en uso.";
+
+    private final UserRepository userRepository;
+    private final RefreshTokenService refreshTokenService;
+    private final PasswordEncoder passwordEncoder;
+    private final Scheduler passwordHashingScheduler;
+    private final JwtUtil jwtUtil;
+    private final BreachedPasswordService breachedPasswordService;
+    private final LoginRateLimiter loginRateLimiter;
+
+    @Value("${auth.password-hashing.retry-after-seconds:2}")
+    private long retryAfterSeconds;
+
+    // Hash de una contraseña aleatoria con el coste configurado, como el de DaoAuthenticationProvider
+    private String userNotFoundPassword;
+
+    @PostConstruct
+    void init() {
+        userNotFoundPassword = passwordEncoder.encode(UUID.randomUUID().toString());
+    }
+
+    /**
+     * Un único INSERT; la restricción UNIQUE de email detecta los duplicados.
+     */
+    public Mono<AuthResponse> register(RegisterRequest request) {
+        if (!StringUtils.hasText(request.getName())) {
+            return Mono.error(new IllegalArgumentException("El nombre es obligatorio."));
+        }
+        if (!StringUtils.hasText(request.getEmail())) {
+            return Mono.error(new IllegalArgumentException("El email es obligatorio."));
+        }
+        if (!StringUtils.hasText(request.getPassword())) {
+            return Mono.error(new IllegalArgumentException("La contraseña es obligatoria."));
+        }
+
+        // La búsqueda en el índice puede leer del disco: fuera del event loop, junto al hashing
+        return hash(() -> {
+                    if (breachedPasswordService.isBreached(request.getPassword())) {
+                        throw new BreachedPasswordException();
+                    }
+                    return passwordEncoder.encode(request.getPassword());
+                })
+                .flatMap(encoded -> userRepository.save(User.builder()
+                        .name(request.getName())
+                        .email(request.getEmail().trim().toLowerCase(Locale.ROOT))
+                        .password(encoded)
+                        .createdAt(LocalDateTime.now())
+                        .build()))
+                .onErrorMap(DataIntegrityViolationException.class, ex -> new IllegalArgumentException(EMAIL_IN_USE_MESSAGE))
+                .flatMap(this::issueTokens);
+    }
+
+    /**
+     * Un SELECT por email y la verificación BCrypt fuera del event loop.
+     * @param clientAddress IP del cliente para el límite de intentos.
+     */
+    public Mono<AuthResponse> login(LoginRequest request, String clientAddress) {
+        long retryAfter = loginRateLimiter.tryAcquire(clientAddress, request.getEmail());
+        if (retryAfter > 0) {
+            return Mono.error(new TooManyLoginAttemptsException(retryAfter));
+        }
+        if (!StringUtils.hasText(request.getEmail()) || request.getPassword() == null) {
+            return Mono.error(new BadCredentialsException());
+        }
+        return userRepository.findByEmail(request.getEmail())
+                // Email desconocido: mismo coste BCrypt que una contraseña incorrecta antes de responder 401
+                .switchIfEmpty(hash(() -> passwordEncoder.matches(request.getPassword(), userNotFoundPassword))
+                        .then(Mono.error(BadCredentialsException::new)))
+                .flatMap(user -> hash(() -> passwordEncoder.matches(request.getPassword(), user.getPassword()))
+                        .flatMap(matches -> matches ? Mono.just(user) : Mono.error(new BadCredentialsException())))
+                .flatMap(this::issueTokens);
+    }
+
+    private Mono<AuthResponse> issueTokens(User user) {
+        return refreshTokenService.issue(user.getId())
+                .map(refreshToken -> new AuthResponse(jwtUtil.generateToken(user), refreshToken));
+    }
+
+    private <T> Mono<T> hash(Callable<T> task) {
+        return Mono.fromCallable(task)
+                .subscribeOn(passwordHashingScheduler)
+                .onErrorMap(RejectedExecutionException.class, ex -> new ServiceOverloadedException(retryAfterSeconds, ex));
+    }
+}
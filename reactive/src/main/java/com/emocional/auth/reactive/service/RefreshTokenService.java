@@ -0,0 +1,66 @@
+package com.emocional.auth.reactive.service;
+
+import com.emocional.auth.reactive.model.RefreshToken;
+import com.emocional.auth.reactive.repository.RefreshTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Emisión de refresh tokens con el mismo formato que el servicio MVC (32 bytes aleatorios,
+ * SHA-256 en base de datos), para que /api/v1/auth/refresh del servicio MVC pueda rotarlos.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration refreshTokenExpiration;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${jwt.refresh-token.expiration:30d}") Duration refreshTokenExpiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTokenExpiration = refreshTokenExpiration;
+    }
+
+    /**
+     * Emite un refresh token de una nueva familia.
+     * @return El token en claro, que solo se entrega al cliente.
+     */
+    public Mono<String> issue(Long userId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant now = Instant.now();
+        return refreshTokenRepository.save(RefreshToken.builder()
+                        .tokenHash(hash(rawToken))
+                        .familyId(UUID.randomUUID().toString())
+                        .userId(userId)
+                        .createdAt(now)
+                        .expiresAt(now.plus(refreshTokenExpiration))
+                        .build())
+                .thenReturn(rawToken);
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 no disponible", ex);
+        }
+    }
+}
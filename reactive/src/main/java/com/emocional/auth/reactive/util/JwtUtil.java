@@ -0,0 +1,51 @@
+package com.emocional.auth.reactive.util;
+
+import com.emocional.auth.reactive.model.User;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Emisión de JWT HS256 con los mismos claims (userId, fullName, jti) que el servicio MVC,
+ * de modo que el Diary Service los valida igual. La firma es barata (microsegundos) y se
+ * ejecuta en el hilo que completa la consulta.
+ */
+@Component
+public class JwtUtil {
+
+    // Clave secreta COMPARTIDA con el Diary Service y el servicio MVC
+    @Value("${jwt.secret.key}")
+    private String secretKey;
+
+    @Value("${jwt.access-token.expiration:15m}")
+    private Duration accessTokenExpiration;
+
+    private Key signingKey;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+    }
+
+    public String generateToken(User user) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setClaims(Map.of("userId", user.getId(), "fullName", user.getName()))
+                .setSubject(user.getEmail())
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + accessTokenExpiration.toMillis()))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
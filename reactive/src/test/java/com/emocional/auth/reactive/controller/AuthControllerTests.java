@@ -0,0 +1,151 @@
+package com.emocional.auth.reactive.controller;
+
+import com.emocional.auth.reactive.dto.AuthResponse;
+import com.emocional.auth.reactive.dto.LoginRequest;
+import com.emocional.auth.reactive.dto.RegisterRequest;
+import com.emocional.auth.reactive.security.BreachedPasswordIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mismos casos que AuthServiceImplTests del servicio MVC, a través de la API HTTP.
+ */
+@SpringBootTest
+@AutoConfigureWebTestClient
+class AuthControllerTests {
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@DynamicPropertySource
+	static void breachedPasswords(DynamicPropertyRegistry registry) throws IOException {
+		// Índice de un solo registro: el SHA-1 de "123456"
+		Path index = Files.createTempFile("breached", ".idx");
+		index.toFile().deleteOnExit();
+		Files.write(index, BreachedPasswordIndex.sha1("123456"));
+		registry.add("auth.breached-passwords.file", index::toString);
+	}
+
+	@Test
+	void registerReturnsTokens() {
+		AuthResponse response = register(registerRequest("register-" + UUID.randomUUID() + "@emocional.com", "secreto123"))
+				.expectStatus().isCreated()
+				.expectBody(AuthResponse.class)
+				.returnResult()
+				.getResponseBody();
+
+		assertThat(response.getToken()).isNotBlank();
+		assertThat(response.getRefreshToken()).isNotBlank();
+	}
+
+	@Test
+	void loginReturnsTokens() {
+		String email = "login-" + UUID.randomUUID() + "@emocional.com";
+		register(registerRequest(email, "secreto123")).expectStatus().isCreated();
+
+		login(loginRequest(email, "secreto123"))
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.token").isNotEmpty()
+				.jsonPath("$.refreshToken").isNotEmpty();
+	}
+
+	@Test
+	void loginIgnoresEmailCase() {
+		String email = "Mayusculas-" + UUID.randomUUID() + "@Emocional.com";
+		register(registerRequest(email, "secreto123")).expectStatus().isCreated();
+
+		login(loginRequest(email.toUpperCase(), "secreto123")).expectStatus().isOk();
+	}
+
+	@Test
+	void loginRejectsWrongPassword() {
+		String email = "wrong-" + UUID.randomUUID() + "@emocional.com";
+		register(registerRequest(email, "secreto123")).expectStatus().isCreated();
+
+		login(loginRequest(email, "incorrecta"))
+				.expectStatus().isUnauthorized()
+				.expectBody()
+				.jsonPath("$.status").isEqualTo(HttpStatus.UNAUTHORIZED.value());
+		login(loginRequest("desconocido-" + UUID.randomUUID() + "@emocional.com", "secreto123"))
+				.expectStatus().isUnauthorized();
+	}
+
+	@Test
+	void registerRejectsDuplicateEmail() {
+		String email = "duplicado-" + UUID.randomUUID() + "@emocional.com";
+		register(registerRequest(email, "secreto123")).expectStatus().isCreated();
+
+		register(registerRequest(email, "otroSecreto"))
+				.expectStatus().isBadRequest()
+				.expectBody()
+				.jsonPath("$.message").isEqualTo("El email ya está en uso.");
+	}
+
+	@Test
+	void registerRejectsMissingFields() {
+		register(registerRequest("", "secreto123"))
+				.expectStatus().isBadRequest()
+				.expectBody()
+				.jsonPath("$.message").isEqualTo("El email es obligatorio.");
+	}
+
+	@Test
+	void registerRejectsBreachedPassword() {
+		register(registerRequest("filtrada-" + UUID.randomUUID() + "@emocional.com", "123456"))
+				.expectStatus().isBadRequest()
+				.expectBody()
+				.jsonPath("$.message").isEqualTo("La contraseña aparece en filtraciones de datos conocidas. Elige otra.");
+	}
+
+	@Test
+	void loginIsRateLimitedPerAccount() {
+		String email = "limite-" + UUID.randomUUID() + "@emocional.com";
+		register(registerRequest(email, "secreto123")).expectStatus().isCreated();
+
+		// auth.rate-limit.account.burst=5: el sexto intento se rechaza antes de verificar la contraseña
+		for (int i = 0; i < 5; i++) {
+			login(loginRequest(email, "incorrecta")).expectStatus().isUnauthorized();
+		}
+		login(loginRequest(email.toUpperCase(), "secreto123"))
+				.expectStatus().isEqualTo(HttpStatus.TOO_MANY_REQUESTS)
+				.expectHeader().exists(HttpHeaders.RETRY_AFTER);
+	}
+
+	private WebTestClient.ResponseSpec register(RegisterRequest request) {
+		return webTestClient.post().uri("/api/v1/auth/register").bodyValue(request).exchange();
+	}
+
+	private WebTestClient.ResponseSpec login(LoginRequest request) {
+		return webTestClient.post().uri("/api/v1/auth/login").bodyValue(request).exchange();
+	}
+
+	private static RegisterRequest registerRequest(String email, String password) {
+		RegisterRequest request = new RegisterRequest();
+		request.setName("Usuario Test");
+		request.setEmail(email);
+		request.setPassword(password);
+		return request;
+	}
+
+	private static LoginRequest loginRequest(String email, String password) {
+		LoginRequest request = new LoginRequest();
+		request.setEmail(email);
+		request.setPassword(password);
+		return request;
+	}
+}
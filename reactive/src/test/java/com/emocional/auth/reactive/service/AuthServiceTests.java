@@ -0,0 +1,53 @@
+package com.emocional.auth.reactive.service;
+
+import com.emocional.auth.reactive.dto.LoginRequest;
+import com.emocional.auth.reactive.exception.BadCredentialsException;
+import com.emocional.auth.reactive.repository.UserRepository;
+import com.emocional.auth.reactive.security.LoginRateLimiter;
+import com.emocional.auth.reactive.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthServiceTests {
+
+	@Test
+	void unknownEmailStillRunsBcryptBeforeFailing() {
+		List<String> verifiedHashes = new ArrayList<>();
+		BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4) {
+			@Override
+			public boolean matches(CharSequence rawPassword, String encodedPassword) {
+				verifiedHashes.add(encodedPassword);
+				return super.matches(rawPassword, encodedPassword);
+			}
+		};
+		UserRepository userRepository = mock(UserRepository.class);
+		when(userRepository.findByEmail(anyString())).thenReturn(Mono.empty());
+		AuthService authService = new AuthService(userRepository, mock(RefreshTokenService.class), encoder,
+				Schedulers.immediate(), mock(JwtUtil.class),
+				new BreachedPasswordService(new SimpleMeterRegistry(), ""),
+				new LoginRateLimiter(new SimpleMeterRegistry(), false, 60, 20, 10, 5, 100, Duration.ofMinutes(10)));
+		authService.init();
+
+		LoginRequest request = new LoginRequest();
+		request.setEmail("desconocido@emocional.com");
+		request.setPassword("secreto123");
+
+		StepVerifier.create(authService.login(request, "10.0.0.1"))
+				.expectError(BadCredentialsException.class)
+				.verify();
+		assertThat(verifiedHashes).singleElement().asString().startsWith("$2a$04$");
+	}
+}
@@ -0,0 +1,24 @@
+#!/usr/bin/env sh
+# Genera el indice binario de contraseñas filtradas que lee BreachedPasswordService
+# (auth.breached-passwords.file) a partir de un volcado local:
+#
+#   # Volcado SHA-1 de HIBP (HASH:CONTADOR, ya ordenado), solo hashes vistos al menos 10 veces
+#   ./scripts/build-breached-index.sh pwned-passwords-sha1-ordered-by-hash.txt /data/breached.idx sha1 10
+#
+#   # Lista propia de contraseñas en claro, una por linea
+#   ./scripts/build-breached-index.sh rockyou.txt /data/breached.idx plaintext
+#
+# La salida se escribe en un temporal del mismo directorio y se renombra al final, asi que se puede
+# regenerar sobre el fichero en uso: el servicio detecta el cambio en el siguiente reload-interval.
+# No copiar ni truncar el fichero en el sitio mientras el servicio lo tiene abierto.
+set -eu
+
+if [ "$#" -lt 2 ]; then
+    echo "Uso: $0 <entrada> <salida> [sha1|plaintext] [contador-minimo]" >&2
+    exit 2
+fi
+
+cd "$(dirname "$0")/.."
+# Classpath con las dependencias de runtime: el builder registra el progreso con SLF4J/Logback
+mvn -B -q compile dependency:build-classpath -Dmdep.includeScope=runtime -Dmdep.outputFile=target/builder.classpath
+java -Xmx1g -cp "target/classes:$(cat target/builder.classpath)" com.emocional.auth.security.BreachedPasswordIndexBuilder "$@"
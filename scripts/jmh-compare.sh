@@ -0,0 +1,33 @@
+#!/usr/bin/env sh
+# Compara dos resultados JMH en JSON (perfil Maven jmh) benchmark a benchmark:
+#
+#   mvn -Pjmh -DskipTests compile exec:exec -Djmh.result=jmh/1.2.0.json
+#   mvn -Pjmh -DskipTests compile exec:exec -Djmh.result=jmh/1.3.0.json
+#   ./scripts/jmh-compare.sh jmh/1.2.0.json jmh/1.3.0.json
+#
+# Se emparejan por nombre y parametros (@Param). En modo AverageTime un cambio negativo es una mejora.
+# Requiere jq.
+set -eu
+
+if [ "$#" -ne 2 ]; then
+    echo "Uso: $0 <base.json> <nuevo.json>" >&2
+    exit 2
+fi
+
+rows() {
+    jq -r '.[] | [
+        (.benchmark | sub("^com\\.emocional\\.auth\\.benchmark\\."; ""))
+            + ((.params // {}) | to_entries | map("[" + .key + "=" + .value + "]") | join("")),
+        .primaryMetric.score,
+        .primaryMetric.scoreUnit
+    ] | @tsv' "$1" | LC_ALL=C sort -t "$(printf '\t')" -k1,1
+}
+
+rows "$1" > "${TMPDIR:-/tmp}/jmh-base.$$"
+rows "$2" > "${TMPDIR:-/tmp}/jmh-new.$$"
+trap 'rm -f "${TMPDIR:-/tmp}/jmh-base.$$" "${TMPDIR:-/tmp}/jmh-new.$$"' EXIT
+
+printf '%-60s %14s %14s %9s %s\n' "Benchmark" "Base" "Nuevo" "Cambio" "Unidad"
+LC_ALL=C join -t "$(printf '\t')" "${TMPDIR:-/tmp}/jmh-base.$$" "${TMPDIR:-/tmp}/jmh-new.$$" \
+    | awk -F '\t' '{ change = ($2 == 0) ? 0 : ($4 - $2) / $2 * 100;
+                     printf "%-60s %14.3f %14.3f %+8.1f%% %s\n", $1, $2, $4, change, $3 }'
@@ -0,0 +1,62 @@
+#!/usr/bin/env sh
+# Compara la latencia de login con la configuracion por defecto frente al perfil prod
+# (HikariCP dimensionado, sentencias preparadas en el servidor, sin SQL por consola, sin OSIV).
+# Requiere una base de datos PostgreSQL local:
+#
+#   DB_HOST=localhost DB_PORT=5432 DB_NAME=auth_db DB_USERNAME=auth DB_PASSWORD=auth \
+#   JWT_SECRET_KEY=<base64> ./scripts/loadtest-prod-profile.sh
+#
+# Variables opcionales: CONCURRENCY (100), DURATION (30), USERS (100), PORT (8081).
+# Solo se generan logins (loginRatio=1.0) tras sembrar los usuarios.
+# Los resultados quedan en target/loadtest/default.json y target/loadtest/prod.json.
+set -eu
+
+cd "$(dirname "$0")/.."
+
+CONCURRENCY="${CONCURRENCY:-100}"
+DURATION="${DURATION:-30}"
+USERS="${USERS:-100}"
+PORT="${PORT:-8081}"
+
+mkdir -p target/loadtest
+mvn -q -B -DskipTests package
+JAR="$(ls target/*.jar | grep -v '\.original$' | head -n 1)"
+
+wait_for_port() {
+    for _ in $(seq 1 60); do
+        code="$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:${PORT}/actuator/health" || true)"
+        if [ "$code" != "000" ]; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "El servicio no arrancó en 60s" >&2
+    return 1
+}
+
+run_profile() {
+    label="$1"
+    shift
+    java -jar "$JAR" --server.port="$PORT" --auth.rate-limit.enabled=false --auth.concurrency-limit.enabled=false "$@" > "target/loadtest/${label}.log" 2>&1 &
+    pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+    wait_for_port
+    mvn -q -B -Ploadtest -DskipTests compile exec:java \
+        -Dloadtest.baseUrl="http://localhost:${PORT}" \
+        -Dloadtest.label="$label" \
+        -Dloadtest.concurrency="$CONCURRENCY" \
+        -Dloadtest.duration="$DURATION" \
+        -Dloadtest.users="$USERS" \
+        -Dloadtest.loginRatio=1.0
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+# Primero el perfil por defecto (ddl-auto=update crea el esquema si la base esta vacia);
+# despues prod, que aplica la linea base de Flyway y el indice sobre lower(email).
+run_profile default
+run_profile prod --spring.profiles.active=prod
+
+echo "Lineas de SQL impresas por consola: default=$(grep -c 'Hibernate:' target/loadtest/default.log || true)," \
+     "prod=$(grep -c 'Hibernate:' target/loadtest/prod.log || true)"
@@ -0,0 +1,61 @@
+#!/usr/bin/env sh
+# Compara el servicio MVC (Tomcat + JPA) con la variante reactiva (reactive/: WebFlux + R2DBC)
+# con el mismo generador de carga y la misma mezcla de login/registro.
+# Requiere una base de datos PostgreSQL local con el esquema del servicio MVC (perfil prod/Flyway):
+#
+#   DB_HOST=localhost DB_PORT=5432 DB_NAME=auth_db DB_USERNAME=auth DB_PASSWORD=auth \
+#   JWT_SECRET_KEY=<base64> ./scripts/loadtest-reactive.sh
+#
+# Variables opcionales: CONCURRENCY (200), DURATION (30), USERS (100), LOGIN_RATIO (0.9), PORT (8081).
+# El limite de intentos de login se desactiva en los dos: toda la carga sale de una sola IP.
+# Ambos servicios usan el mismo numero de hilos de BCrypt (nucleos) y el mismo tamaño de pool de conexiones.
+# Los resultados quedan en target/loadtest/mvc.json y target/loadtest/reactive.json.
+set -eu
+
+cd "$(dirname "$0")/.."
+
+CONCURRENCY="${CONCURRENCY:-200}"
+DURATION="${DURATION:-30}"
+USERS="${USERS:-100}"
+LOGIN_RATIO="${LOGIN_RATIO:-0.9}"
+PORT="${PORT:-8081}"
+
+mkdir -p target/loadtest
+mvn -q -B -DskipTests package
+mvn -q -B -f reactive/pom.xml -DskipTests package
+MVC_JAR="$(ls target/*.jar | grep -v '\.original$' | head -n 1)"
+REACTIVE_JAR="$(ls reactive/target/*.jar | grep -v '\.original$' | head -n 1)"
+
+wait_for_port() {
+    for _ in $(seq 1 60); do
+        code="$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:${PORT}/actuator/health" || true)"
+        if [ "$code" != "000" ]; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "El servicio no arrancó en 60s" >&2
+    return 1
+}
+
+run_stack() {
+    label="$1"
+    shift
+    java -jar "$@" --server.port="$PORT" > "target/loadtest/${label}.log" 2>&1 &
+    pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+    wait_for_port
+    mvn -q -B -Ploadtest -DskipTests compile exec:java \
+        -Dloadtest.baseUrl="http://localhost:${PORT}" \
+        -Dloadtest.label="$label" \
+        -Dloadtest.concurrency="$CONCURRENCY" \
+        -Dloadtest.duration="$DURATION" \
+        -Dloadtest.users="$USERS" \
+        -Dloadtest.loginRatio="$LOGIN_RATIO"
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run_stack mvc "$MVC_JAR" --spring.profiles.active=prod --auth.rate-limit.enabled=false --auth.concurrency-limit.enabled=false
+run_stack reactive "$REACTIVE_JAR" --auth.rate-limit.enabled=false
@@ -0,0 +1,93 @@
+#!/usr/bin/env sh
+# Prueba de carga con umbrales de latencia (SLO): arranca el servicio en local, genera trafico
+# de login y registro y termina con codigo distinto de 0 si se incumple algun umbral.
+# Pensado para ejecutarse antes de integrar cambios en SecurityConfig o AuthServiceImpl.
+#
+# Con una base de datos PostgreSQL local:
+#
+#   DB_HOST=localhost DB_PORT=5432 DB_NAME=auth_db DB_USERNAME=auth DB_PASSWORD=auth \
+#   JWT_SECRET_KEY=<base64> ./scripts/loadtest-slo.sh
+#
+# O con START_DB=1 para levantar un PostgreSQL desechable con Docker (sin variables DB_*).
+#
+# Variables opcionales: CONCURRENCY (64), DURATION (30), WARMUP (10), USERS (100), PORT (8081),
+# LOGIN_RATIO (0.8), PROFILE (prod), SLO (src/loadtest/resources/slo-local.properties),
+# LABEL (slo). Los umbrales se pueden ajustar sin editar el fichero: -Dloadtest.slo.login.p95Millis=500
+# via MAVEN_OPTS. Resultados en target/loadtest/$LABEL.json y log del servicio en target/loadtest/$LABEL.log.
+set -eu
+
+cd "$(dirname "$0")/.."
+
+CONCURRENCY="${CONCURRENCY:-64}"
+DURATION="${DURATION:-30}"
+WARMUP="${WARMUP:-10}"
+USERS="${USERS:-100}"
+PORT="${PORT:-8081}"
+LOGIN_RATIO="${LOGIN_RATIO:-0.8}"
+PROFILE="${PROFILE:-prod}"
+SLO="${SLO:-src/loadtest/resources/slo-local.properties}"
+LABEL="${LABEL:-slo}"
+
+container=""
+pid=""
+cleanup() {
+    if [ -n "$pid" ]; then
+        kill "$pid" 2>/dev/null || true
+        wait "$pid" 2>/dev/null || true
+    fi
+    if [ -n "$container" ]; then
+        docker rm -f "$container" > /dev/null 2>&1 || true
+    fi
+}
+trap cleanup EXIT
+
+if [ "${START_DB:-0}" = "1" ]; then
+    DB_HOST=localhost DB_PORT="${DB_PORT:-55432}" DB_NAME=auth_db DB_USERNAME=auth DB_PASSWORD=auth
+    export DB_HOST DB_PORT DB_NAME DB_USERNAME DB_PASSWORD
+    container="$(docker run -d --rm -p "${DB_PORT}:5432" \
+        -e POSTGRES_DB="$DB_NAME" -e POSTGRES_USER="$DB_USERNAME" -e POSTGRES_PASSWORD="$DB_PASSWORD" \
+        postgres:16-alpine)"
+    for _ in $(seq 1 30); do
+        if docker exec "$container" pg_isready -U "$DB_USERNAME" > /dev/null 2>&1; then
+            break
+        fi
+        sleep 1
+    done
+fi
+# Clave de firma desechable si no se indica otra
+JWT_SECRET_KEY="${JWT_SECRET_KEY:-$(head -c 32 /dev/urandom | base64)}"
+export JWT_SECRET_KEY
+
+mkdir -p target/loadtest
+mvn -q -B -DskipTests package
+JAR="$(ls target/*.jar | grep -v '\.original$' | head -n 1)"
+
+# Con el perfil prod Flyway crea el esquema en una base vacia (V1__initial_schema.sql)
+# El limite de concurrencia adaptativo se deja activo: sus 503 cuentan como errores frente a maxErrorRate
+java -jar "$JAR" --server.port="$PORT" --spring.profiles.active="$PROFILE" --auth.rate-limit.enabled=false \
+    > "target/loadtest/${LABEL}.log" 2>&1 &
+pid=$!
+
+started=0
+for _ in $(seq 1 60); do
+    code="$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:${PORT}/actuator/health" || true)"
+    if [ "$code" != "000" ]; then
+        started=1
+        break
+    fi
+    sleep 1
+done
+if [ "$started" != "1" ]; then
+    echo "El servicio no arrancó en 60s, ver target/loadtest/${LABEL}.log" >&2
+    exit 1
+fi
+
+mvn -q -B -Ploadtest -DskipTests compile exec:java \
+    -Dloadtest.baseUrl="http://localhost:${PORT}" \
+    -Dloadtest.label="$LABEL" \
+    -Dloadtest.concurrency="$CONCURRENCY" \
+    -Dloadtest.duration="$DURATION" \
+    -Dloadtest.warmup="$WARMUP" \
+    -Dloadtest.users="$USERS" \
+    -Dloadtest.loginRatio="$LOGIN_RATIO" \
+    -Dloadtest.slo="$SLO"
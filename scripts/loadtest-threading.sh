@@ -0,0 +1,62 @@
+#!/usr/bin/env sh
+# Compara hilos de plataforma frente a hilos virtuales (perfil virtual-threads) con el
+# mismo generador de carga. Requiere Java 21+ y una base de datos PostgreSQL local:
+#
+#   DB_HOST=localhost DB_PORT=5432 DB_NAME=auth_db DB_USERNAME=auth DB_PASSWORD=auth \
+#   JWT_SECRET_KEY=<base64> ./scripts/loadtest-threading.sh
+#
+# Variables opcionales: CONCURRENCY (200), DURATION (30), USERS (100), PORT (8081).
+# El limite de intentos de login se desactiva: todo el trafico sale de una sola IP.
+# Los resultados quedan en target/loadtest/platform.json y target/loadtest/virtual.json;
+# los avisos de pinning de carriers (-Djdk.tracePinnedThreads) en target/loadtest/virtual.log.
+set -eu
+
+cd "$(dirname "$0")/.."
+
+CONCURRENCY="${CONCURRENCY:-200}"
+DURATION="${DURATION:-30}"
+USERS="${USERS:-100}"
+PORT="${PORT:-8081}"
+
+mkdir -p target/loadtest
+mvn -q -B -DskipTests package
+JAR="$(ls target/*.jar | grep -v '\.original$' | head -n 1)"
+
+wait_for_port() {
+    for _ in $(seq 1 60); do
+        code="$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:${PORT}/actuator/health" || true)"
+        if [ "$code" != "000" ]; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "El servicio no arrancó en 60s" >&2
+    return 1
+}
+
+run_mode() {
+    label="$1"
+    shift
+    java "$@" -jar "$JAR" --server.port="$PORT" --auth.rate-limit.enabled=false --auth.concurrency-limit.enabled=false > "target/loadtest/${label}.log" 2>&1 &
+    pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+    wait_for_port
+    mvn -q -B -Ploadtest -DskipTests compile exec:java \
+        -Dloadtest.baseUrl="http://localhost:${PORT}" \
+        -Dloadtest.label="$label" \
+        -Dloadtest.concurrency="$CONCURRENCY" \
+        -Dloadtest.duration="$DURATION" \
+        -Dloadtest.users="$USERS"
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run_mode platform
+run_mode virtual -Dspring.profiles.active=virtual-threads -Djdk.tracePinnedThreads=short
+
+if grep -q "pinned" target/loadtest/virtual.log; then
+    echo "AVISO: se detectaron hilos virtuales fijados (pinned) a su carrier, ver target/loadtest/virtual.log" >&2
+else
+    echo "Sin pinning de carriers durante la ejecución virtual."
+fi
@@ -0,0 +1,105 @@
+#!/usr/bin/env sh
+# Mide el tiempo de arranque y la memoria residente (RSS) del servicio en cada modo:
+#   jar      fat jar tal cual (como en el Dockerfile)
+#   aot      mismo jar con -Dspring.aot.enabled=true (perfil Maven aot)
+#   cds      jar descomprimido + archivo CDS generado con una ejecucion de entrenamiento
+#   aot-cds  AOT + CDS
+#   native   imagen nativa GraalVM (solo si existe target/auth-service; ver perfil Maven native)
+#
+# Requiere una base de datos PostgreSQL accesible, igual que los scripts de carga:
+#
+#   DB_HOST=localhost DB_PORT=5432 DB_NAME=auth_db DB_USERNAME=auth DB_PASSWORD=auth \
+#   JWT_SECRET_KEY=<base64> ./scripts/startup-bench.sh
+#
+# Variables opcionales: RUNS (5, se informa la mediana), PORT (8081), MODES ("jar aot cds aot-cds native").
+# Con JAVA_TOOL_OPTIONS vacio para no alterar las mediciones. Resultados en target/startup/results.txt.
+set -eu
+
+cd "$(dirname "$0")/.."
+
+RUNS="${RUNS:-5}"
+PORT="${PORT:-8081}"
+MODES="${MODES:-jar aot cds aot-cds native}"
+OUT=target/startup
+MAIN_CLASS=com.emocional.auth.AuthServiceApplication
+
+mvn -q -B -Paot -DskipTests package
+JAR="$(ls target/*.jar | grep -v '\.original$' | head -n 1)"
+
+# Disposicion descomprimida para CDS: el archivo solo admite clases cargadas desde jars,
+# con el mismo classpath en el entrenamiento y en la ejecucion.
+rm -rf "$OUT"
+mkdir -p "$OUT/exploded"
+(cd "$OUT/exploded" && jar -xf "../../../$JAR")
+jar -cf "$OUT/application.jar" -C "$OUT/exploded/BOOT-INF/classes" .
+CLASSPATH_CDS="$OUT/application.jar:$(ls "$OUT"/exploded/BOOT-INF/lib/*.jar | sort | tr '\n' ':' | sed 's/:$//')"
+
+# Ejecucion de entrenamiento: arranca el contexto y sale tras el refresh volcando las clases cargadas
+train() {
+    archive="$1"
+    shift
+    java "$@" -XX:ArchiveClassesAtExit="$archive" -Dspring.context.exit=onRefresh \
+        -cp "$CLASSPATH_CDS" "$MAIN_CLASS" --server.port="$PORT" > "$archive.log" 2>&1 || true
+    if [ ! -f "$archive" ]; then
+        echo "No se generó el archivo CDS $archive, ver $archive.log" >&2
+        exit 1
+    fi
+}
+
+start_command() {
+    case "$1" in
+        jar)     echo "java -jar $JAR" ;;
+        aot)     echo "java -Dspring.aot.enabled=true -jar $JAR" ;;
+        cds)     echo "java -XX:SharedArchiveFile=$OUT/app.jsa -cp $CLASSPATH_CDS $MAIN_CLASS" ;;
+        aot-cds) echo "java -Dspring.aot.enabled=true -XX:SharedArchiveFile=$OUT/app-aot.jsa -cp $CLASSPATH_CDS $MAIN_CLASS" ;;
+        native)  echo "target/auth-service" ;;
+    esac
+}
+
+# Arranca una vez y devuelve "<segundos hasta health UP> <segundos segun Spring> <RSS en MB>"
+measure() {
+    log="$OUT/$1.log"
+    started_at="$(date +%s%N)"
+    $(start_command "$1") --server.port="$PORT" > "$log" 2>&1 &
+    pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+    for _ in $(seq 1 600); do
+        code="$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:${PORT}/actuator/health" || true)"
+        if [ "$code" != "000" ]; then
+            break
+        fi
+        sleep 0.1
+    done
+    ready_at="$(date +%s%N)"
+    rss_kb="$(awk '/VmRSS/ {print $2}' "/proc/$pid/status" 2>/dev/null || ps -o rss= -p "$pid")"
+    spring="$(sed -n 's/.*Started AuthServiceApplication in \([0-9.]*\) seconds.*/\1/p' "$log" | head -n 1)"
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+    echo "$(( (ready_at - started_at) / 1000000 )) ${spring:-?} $(( rss_kb / 1024 ))"
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'
+}
+
+printf '%-8s %12s %12s %8s\n' modo "listo(ms)" "spring(s)" "RSS(MB)" | tee "$OUT/results.txt"
+for mode in $MODES; do
+    case "$mode" in
+        cds)     train "$OUT/app.jsa" ;;
+        aot-cds) train "$OUT/app-aot.jsa" -Dspring.aot.enabled=true ;;
+        native)
+            if [ ! -x target/auth-service ]; then
+                echo "native: omitido (construir con mvn -Pnative -DskipTests native:compile)" | tee -a "$OUT/results.txt"
+                continue
+            fi ;;
+    esac
+    : > "$OUT/$mode.runs"
+    for _ in $(seq 1 "$RUNS"); do
+        measure "$mode" >> "$OUT/$mode.runs"
+    done
+    printf '%-8s %12s %12s %8s\n' "$mode" \
+        "$(cut -d' ' -f1 "$OUT/$mode.runs" | median)" \
+        "$(cut -d' ' -f2 "$OUT/$mode.runs" | median)" \
+        "$(cut -d' ' -f3 "$OUT/$mode.runs" | median)" | tee -a "$OUT/results.txt"
+done
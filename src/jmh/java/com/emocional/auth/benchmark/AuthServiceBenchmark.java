@@ -0,0 +1,100 @@
+package com.emocional.auth.benchmark;
+
+import com.emocional.auth.AuthServiceApplication;
+import com.emocional.auth.dto.AuthResponse;
+import com.emocional.auth.dto.LoginRequest;
+import com.emocional.auth.dto.RegisterRequest;
+import com.emocional.auth.service.AuthService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Camino completo de AuthServiceImpl.login y register (JPA, BCrypt en el pool acotado, JWT y refresh token)
+ * contra H2 en memoria en modo PostgreSQL, sin servidor HTTP. Mide el servicio, no la red: para el camino
+ * HTTP está el perfil loadtest.
+ * H2 es una dependencia de test, por eso el perfil jmh ejecuta con el classpath de test.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthServiceBenchmark {
+
+    private static final String PASSWORD = "secreto123";
+    private static final int USERS = 100;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private AuthService authService;
+
+    @Setup
+    public void setup() {
+        SpringApplication application = new SpringApplication(AuthServiceApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        // Argumentos de línea de comandos: prevalecen sobre cualquier application.properties del classpath
+        context = application.run(
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--spring.datasource.url=jdbc:h2:mem:auth_bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                        + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.flyway.enabled=false",
+                "--jwt.secret.key=" + JwtUtilBenchmark.SECRET);
+        authService = context.getBean(AuthService.class);
+        for (int i = 0; i < USERS; i++) {
+            authService.register(registerRequest(email(i)));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AuthResponse login() {
+        LoginRequest request = new LoginRequest();
+        request.setEmail(email((int) (sequence.getAndIncrement() % USERS)));
+        request.setPassword(PASSWORD);
+        return authService.login(request);
+    }
+
+    @Benchmark
+    public AuthResponse register() {
+        return authService.register(registerRequest("nuevo-" + sequence.getAndIncrement() + "@emocional.com"));
+    }
+
+    private static String email(int index) {
+        return "usuario-" + index + "@emocional.com";
+    }
+
+    private static RegisterRequest registerRequest(String email) {
+        RegisterRequest request = new RegisterRequest();
+        request.setName("Usuario Benchmark");
+        request.setEmail(email);
+        request.setPassword(PASSWORD);
+        return request;
+    }
+}
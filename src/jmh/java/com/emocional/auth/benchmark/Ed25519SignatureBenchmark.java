@@ -0,0 +1,62 @@
+package com.emocional.auth.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de referencia de Ed25519 (JCA puro) sobre un header.payload de tamaño similar al de nuestros JWT,
+ * para compararlo con SigningAlgorithmBenchmark mientras jjwt 0.11 no soporte EdDSA.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Ed25519SignatureBenchmark {
+
+    private static final byte[] SIGNING_INPUT = ("eyJraWQiOiJhYmNkZWZnaGlqa2wiLCJhbGciOiJFZERTQSJ9."
+            + "eyJmdWxsTmFtZSI6IlVzdWFyaW8gQmVuY2htYXJrIiwidXNlcklkIjo0Miwic3ViIjoiYmVuY2htYXJrQGVtb2Npb25hbC5jb20iLCJq"
+            + "dGkiOiI1ZjQ2YjQ2Ny0wYjU3LTQ4NmUtYjM0Yi1iZjk1ZjFhZjhhZDEiLCJpYXQiOjE3MDAwMDAwMDAsImV4cCI6MTcwMDAwMDkwMH0")
+            .getBytes(StandardCharsets.US_ASCII);
+
+    private KeyPair keyPair;
+    private byte[] signature;
+
+    @Setup
+    public void setup() throws GeneralSecurityException {
+        keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        signature = sign();
+    }
+
+    @Benchmark
+    public byte[] sign() throws GeneralSecurityException {
+        Signature signer = Signature.getInstance("Ed25519");
+        signer.initSign(keyPair.getPrivate());
+        signer.update(SIGNING_INPUT);
+        return signer.sign();
+    }
+
+    @Benchmark
+    public boolean verify() throws GeneralSecurityException {
+        Signature verifier = Signature.getInstance("Ed25519");
+        verifier.initVerify(keyPair.getPublic());
+        verifier.update(SIGNING_INPUT);
+        return verifier.verify(signature);
+    }
+}
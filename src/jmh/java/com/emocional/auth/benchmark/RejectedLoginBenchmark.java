@@ -0,0 +1,82 @@
+package com.emocional.auth.benchmark;
+
+import com.emocional.auth.security.LatencyEqualizer;
+import com.emocional.auth.util.BloomFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU por intento de login rechazado con un email inexistente.
+ * "daoAuthenticationProvider" es el camino sin filtro: DaoAuthenticationProvider ejecuta un BCrypt
+ * ficticio para igualar tiempos. "emailFilter" es el camino barato de RegisteredEmailFilter
+ * (consulta al Bloom con 1M de emails y muestreo de la latencia a imitar); la espera posterior
+ * es un sleep que no consume CPU, así que no se incluye.
+ * Ejecutar con: mvn -Pjmh -DskipTests compile exec:exec -Djmh.include=RejectedLoginBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RejectedLoginBenchmark {
+
+    private static final int REGISTERED_EMAILS = 1_000_000;
+
+    private DaoAuthenticationProvider provider;
+    private BloomFilter filter;
+    private LatencyEqualizer latencyEqualizer;
+
+    @Setup
+    public void setup() {
+        provider = new DaoAuthenticationProvider(new BCryptPasswordEncoder(10));
+        provider.setUserDetailsService(username -> {
+            throw new UsernameNotFoundException(username);
+        });
+
+        filter = new BloomFilter(REGISTERED_EMAILS, 0.01);
+        for (int i = 0; i < REGISTERED_EMAILS; i++) {
+            filter.put("usuario-" + i + "@emocional.com");
+        }
+        latencyEqualizer = new LatencyEqualizer(256, Duration.ofMillis(100), 0, 64, 2);
+        for (int i = 0; i < 256; i++) {
+            latencyEqualizer.record(TimeUnit.MILLISECONDS.toNanos(80 + i % 40));
+        }
+    }
+
+    @Benchmark
+    public Object daoAuthenticationProvider() {
+        try {
+            return provider.authenticate(new UsernamePasswordAuthenticationToken(randomEmail(), "secreto123"));
+        } catch (AuthenticationException ex) {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    public long emailFilter() {
+        return filter.mightContain(randomEmail()) ? 0 : latencyEqualizer.sampleNanos();
+    }
+
+    // Emails aleatorios, como los de un ataque de enumeración
+    private static String randomEmail() {
+        return "ataque-" + ThreadLocalRandom.current().nextLong() + "@example.com";
+    }
+}
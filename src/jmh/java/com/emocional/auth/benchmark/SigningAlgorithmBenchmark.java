@@ -0,0 +1,67 @@
+package com.emocional.auth.benchmark;
+
+import com.emocional.auth.model.User;
+import com.emocional.auth.util.JwtKeys;
+import com.emocional.auth.util.JwtUtil;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput de firma y verificación en JwtUtil según el algoritmo configurado.
+ * Ed25519 no está soportado por jjwt 0.11; su coste de referencia está en Ed25519SignatureBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SigningAlgorithmBenchmark {
+
+    @Param({"HS256", "RS256", "ES256"})
+    private String algorithm;
+
+    private JwtUtil jwtUtil;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setup() {
+        SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.forName(algorithm);
+        jwtUtil = new JwtUtil();
+        if (JwtKeys.isAsymmetric(signatureAlgorithm)) {
+            jwtUtil.updateSigningKey(signatureAlgorithm, JwtKeys.generateKeyPair(signatureAlgorithm));
+        } else {
+            jwtUtil.updateSecret(JwtUtilBenchmark.SECRET);
+        }
+        user = User.builder()
+                .id(42L)
+                .name("Usuario Benchmark")
+                .email("benchmark@emocional.com")
+                .password("irrelevante")
+                .build();
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String verify() {
+        return jwtUtil.extractUsername(token);
+    }
+}
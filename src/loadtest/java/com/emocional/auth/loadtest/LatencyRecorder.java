@@ -0,0 +1,37 @@
+package com.emocional.auth.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Latencias y códigos de estado registrados por un único cliente (no es thread-safe).
+ */
+class LatencyRecorder {
+
+    final Map<String, Samples> samplesByOperation = new HashMap<>();
+
+    void record(String operation, int status, long elapsedNanos) {
+        samplesByOperation.computeIfAbsent(operation, op -> new Samples()).add(status, elapsedNanos);
+    }
+
+    static final class Samples {
+
+        long[] latencies = new long[1024];
+        int size;
+        long errors;
+        final Map<Integer, Long> statusCounts = new HashMap<>();
+
+        void add(int status, long elapsedNanos) {
+            if (size == latencies.length) {
+                long[] grown = new long[latencies.length * 2];
+                System.arraycopy(latencies, 0, grown, 0, size);
+                latencies = grown;
+            }
+            latencies[size++] = elapsedNanos;
+            statusCounts.merge(status, 1L, Long::sum);
+            if (status < 200 || status >= 300) {
+                errors++;
+            }
+        }
+    }
+}
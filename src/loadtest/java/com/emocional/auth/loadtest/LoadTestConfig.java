@@ -0,0 +1,31 @@
+package com.emocional.auth.loadtest;
+
+import java.nio.file.Path;
+
+/**
+ * Parámetros de una ejecución de carga, leídos de propiedades del sistema (-Dloadtest.*).
+ */
+record LoadTestConfig(String baseUrl,
+                      int concurrency,
+                      int durationSeconds,
+                      int warmupSeconds,
+                      int users,
+                      double loginRatio,
+                      String label,
+                      Path output,
+                      Path slo) {
+
+    static LoadTestConfig fromSystemProperties() {
+        String label = System.getProperty("loadtest.label", "default");
+        return new LoadTestConfig(
+                System.getProperty("loadtest.baseUrl", "http://localhost:8081"),
+                Integer.getInteger("loadtest.concurrency", 64),
+                Integer.getInteger("loadtest.duration", 30),
+                Integer.getInteger("loadtest.warmup", 5),
+                Integer.getInteger("loadtest.users", 100),
+                Double.parseDouble(System.getProperty("loadtest.loginRatio", "1.0")),
+                label,
+                Path.of(System.getProperty("loadtest.output", "target/loadtest/" + label + ".json")),
+                System.getProperty("loadtest.slo") != null ? Path.of(System.getProperty("loadtest.slo")) : null);
+    }
+}
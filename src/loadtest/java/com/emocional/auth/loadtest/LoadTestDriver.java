@@ -0,0 +1,167 @@
+package com.emocional.auth.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generador de carga HTTP para /api/v1/auth/login y /register contra una instancia local.
+ * Solo usa el JDK (java.net.http) para no añadir dependencias al servicio.
+ *
+ * Parámetros (propiedades del sistema):
+ *   loadtest.baseUrl      URL del servicio (http://localhost:8081)
+ *   loadtest.concurrency  clientes concurrentes (64)
+ *   loadtest.duration     segundos de medición (30)
+ *   loadtest.warmup       segundos de calentamiento, no medidos (5)
+ *   loadtest.users        usuarios pre-registrados para los logins (100)
+ *   loadtest.loginRatio   fracción de peticiones que son login; el resto son registros (1.0)
+ *   loadtest.label        nombre de la ejecución (default)
+ *   loadtest.output       fichero JSON de resultados (target/loadtest/LABEL.json)
+ *   loadtest.slo          fichero de umbrales (LoadTestSlo); si alguno se incumple la ejecución falla
+ *                         y mvn termina con código distinto de 0
+ */
+public class LoadTestDriver {
+
+    private static final String PASSWORD = "LoadTest-123";
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        LoadTestResult result = new LoadTestDriver(config).run();
+
+        System.out.println(result.toSummary());
+        Path output = config.output();
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Files.writeString(output, result.toJson());
+        System.out.println("Resultados guardados en " + output);
+
+        if (config.slo() != null) {
+            List<String> violations = LoadTestSlo.load(config.slo()).violations(result);
+            if (!violations.isEmpty()) {
+                throw new IllegalStateException("SLO incumplido (" + config.slo() + "):\n  "
+                        + String.join("\n  ", violations));
+            }
+            System.out.println("SLO cumplido (" + config.slo() + ")");
+        }
+    }
+
+    private final LoadTestConfig config;
+    private final HttpClient client;
+
+    LoadTestDriver(LoadTestConfig config) {
+        this.config = config;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(4, config.concurrency() / 4), LoadTestDriver::daemonThread))
+                .build();
+    }
+
+    LoadTestResult run() throws Exception {
+        List<String> emails = seedUsers();
+
+        ExecutorService workers = Executors.newFixedThreadPool(config.concurrency(), LoadTestDriver::daemonThread);
+        List<LatencyRecorder> recorders = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(config.concurrency());
+
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(config.warmupSeconds());
+        long measureUntil = measureFrom + TimeUnit.SECONDS.toNanos(config.durationSeconds());
+
+        for (int i = 0; i < config.concurrency(); i++) {
+            LatencyRecorder recorder = new LatencyRecorder();
+            recorders.add(recorder);
+            workers.execute(() -> {
+                try {
+                    runClient(emails, recorder, measureFrom, measureUntil);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        workers.shutdown();
+
+        return LoadTestResult.merge(config, recorders);
+    }
+
+    private void runClient(List<String> emails, LatencyRecorder recorder, long measureFrom, long measureUntil) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now;
+        while ((now = System.nanoTime()) < measureUntil) {
+            boolean login = random.nextDouble() < config.loginRatio();
+            String operation = login ? "login" : "register";
+            HttpRequest request = login
+                    ? loginRequest(emails.get(random.nextInt(emails.size())))
+                    : registerRequest(uniqueEmail());
+            int status;
+            long begin = System.nanoTime();
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException ex) {
+                status = -1;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long elapsed = System.nanoTime() - begin;
+            if (now >= measureFrom) {
+                recorder.record(operation, status, elapsed);
+            }
+        }
+    }
+
+    private List<String> seedUsers() throws IOException, InterruptedException {
+        List<String> emails = new ArrayList<>(config.users());
+        for (int i = 0; i < config.users(); i++) {
+            String email = uniqueEmail();
+            HttpResponse<Void> response = client.send(registerRequest(email), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("No se pudo registrar el usuario de prueba " + email
+                        + " (HTTP " + response.statusCode() + ")");
+            }
+            emails.add(email);
+        }
+        return emails;
+    }
+
+    private HttpRequest loginRequest(String email) {
+        return post("/api/v1/auth/login",
+                "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}");
+    }
+
+    private HttpRequest registerRequest(String email) {
+        return post("/api/v1/auth/register",
+                "{\"name\":\"Load Test\",\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}");
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(config.baseUrl() + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    // Hilos daemon para que exec:java pueda terminar sin esperar al pool
+    private static Thread daemonThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "loadtest-client");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static String uniqueEmail() {
+        return "loadtest-" + UUID.randomUUID() + "@emocional.com";
+    }
+}
@@ -0,0 +1,108 @@
+package com.emocional.auth.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resultado agregado de una ejecución: throughput y percentiles de latencia por operación.
+ */
+record LoadTestResult(String label, int concurrency, int durationSeconds, Map<String, OperationStats> operations) {
+
+    record OperationStats(long count,
+                          long errors,
+                          double requestsPerSecond,
+                          double p50Millis,
+                          double p95Millis,
+                          double p99Millis,
+                          double maxMillis,
+                          Map<Integer, Long> statusCounts) {
+    }
+
+    static LoadTestResult merge(LoadTestConfig config, List<LatencyRecorder> recorders) {
+        Map<String, long[]> latencies = new TreeMap<>();
+        Map<String, Long> errors = new TreeMap<>();
+        Map<String, Map<Integer, Long>> statuses = new TreeMap<>();
+
+        for (LatencyRecorder recorder : recorders) {
+            recorder.samplesByOperation.forEach((operation, samples) -> {
+                long[] current = latencies.getOrDefault(operation, new long[0]);
+                long[] merged = Arrays.copyOf(current, current.length + samples.size);
+                System.arraycopy(samples.latencies, 0, merged, current.length, samples.size);
+                latencies.put(operation, merged);
+                errors.merge(operation, samples.errors, Long::sum);
+                samples.statusCounts.forEach((status, count) ->
+                        statuses.computeIfAbsent(operation, op -> new TreeMap<>()).merge(status, count, Long::sum));
+            });
+        }
+
+        Map<String, OperationStats> operations = new LinkedHashMap<>();
+        latencies.forEach((operation, values) -> {
+            Arrays.sort(values);
+            operations.put(operation, new OperationStats(
+                    values.length,
+                    errors.get(operation),
+                    (double) values.length / config.durationSeconds(),
+                    percentile(values, 0.50),
+                    percentile(values, 0.95),
+                    percentile(values, 0.99),
+                    values.length == 0 ? 0 : toMillis(values[values.length - 1]),
+                    statuses.get(operation)));
+        });
+        return new LoadTestResult(config.label(), config.concurrency(), config.durationSeconds(), operations);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return toMillis(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    String toSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("=== %s (concurrencia=%d, duración=%ds) ===%n", label, concurrency, durationSeconds));
+        operations.forEach((operation, stats) -> summary.append(String.format(
+                "%-9s req/s=%8.1f  p50=%7.1fms  p95=%7.1fms  p99=%7.1fms  max=%7.1fms  errores=%d  estados=%s%n",
+                operation, stats.requestsPerSecond(), stats.p50Millis(), stats.p95Millis(),
+                stats.p99Millis(), stats.maxMillis(), stats.errors(), stats.statusCounts())));
+        return summary.toString();
+    }
+
+    String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n  \"label\": \"").append(label).append("\",\n")
+                .append("  \"concurrency\": ").append(concurrency).append(",\n")
+                .append("  \"durationSeconds\": ").append(durationSeconds).append(",\n")
+                .append("  \"operations\": {");
+        String separator = "\n";
+        for (Map.Entry<String, OperationStats> entry : operations.entrySet()) {
+            OperationStats stats = entry.getValue();
+            json.append(separator)
+                    .append("    \"").append(entry.getKey()).append("\": {")
+                    .append("\"count\": ").append(stats.count())
+                    .append(", \"errors\": ").append(stats.errors())
+                    .append(", \"requestsPerSecond\": ").append(format(stats.requestsPerSecond()))
+                    .append(", \"p50Millis\": ").append(format(stats.p50Millis()))
+                    .append(", \"p95Millis\": ").append(format(stats.p95Millis()))
+                    .append(", \"p99Millis\": ").append(format(stats.p99Millis()))
+                    .append(", \"maxMillis\": ").append(format(stats.maxMillis()))
+                    .append("}");
+            separator = ",\n";
+        }
+        json.append("\n  }\n}\n");
+        return json.toString();
+    }
+
+    private static String format(double value) {
+        return String.format(java.util.Locale.ROOT, "%.3f", value);
+    }
+}
@@ -0,0 +1,79 @@
+package com.emocional.auth.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Umbrales de latencia y throughput (SLO) que debe cumplir una ejecución.
+ * Se leen de un fichero de propiedades con claves OPERACION.METRICA, por ejemplo:
+ *
+ *   login.p95Millis=400
+ *   login.minRequestsPerSecond=20
+ *   register.maxErrorRate=0.01
+ *
+ * Métricas: p50Millis, p95Millis, p99Millis (máximos), minRequestsPerSecond y maxErrorRate
+ * (fracción de respuestas no 2xx). Cualquier clave se puede sobrescribir con -Dloadtest.slo.CLAVE.
+ */
+record LoadTestSlo(Map<String, Map<String, Double>> thresholds) {
+
+    private static final String OVERRIDE_PREFIX = "loadtest.slo.";
+
+    static LoadTestSlo load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(OVERRIDE_PREFIX))
+                .forEach(name -> properties.setProperty(name.substring(OVERRIDE_PREFIX.length()), System.getProperty(name)));
+
+        Map<String, Map<String, Double>> thresholds = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            int dot = key.indexOf('.');
+            if (dot <= 0) {
+                throw new IllegalArgumentException("Clave de SLO inválida (se espera OPERACION.METRICA): " + key);
+            }
+            thresholds.computeIfAbsent(key.substring(0, dot), op -> new TreeMap<>())
+                    .put(key.substring(dot + 1), Double.parseDouble(properties.getProperty(key).trim()));
+        }
+        return new LoadTestSlo(thresholds);
+    }
+
+    /**
+     * Umbrales incumplidos, uno por línea legible. Las operaciones sin muestras (p. ej. register
+     * con loginRatio=1.0) no se evalúan.
+     */
+    List<String> violations(LoadTestResult result) {
+        List<String> violations = new ArrayList<>();
+        thresholds.forEach((operation, limits) -> {
+            LoadTestResult.OperationStats stats = result.operations().get(operation);
+            if (stats == null || stats.count() == 0) {
+                return;
+            }
+            limits.forEach((metric, limit) -> {
+                double actual = switch (metric) {
+                    case "p50Millis" -> stats.p50Millis();
+                    case "p95Millis" -> stats.p95Millis();
+                    case "p99Millis" -> stats.p99Millis();
+                    case "minRequestsPerSecond" -> stats.requestsPerSecond();
+                    case "maxErrorRate" -> (double) stats.errors() / stats.count();
+                    default -> throw new IllegalArgumentException("Métrica de SLO desconocida: " + operation + "." + metric);
+                };
+                boolean violated = metric.equals("minRequestsPerSecond") ? actual < limit : actual > limit;
+                if (violated) {
+                    violations.add(String.format(Locale.ROOT, "%s.%s: %.3f (umbral %.3f)", operation, metric, actual, limit));
+                }
+            });
+        });
+        return violations;
+    }
+}
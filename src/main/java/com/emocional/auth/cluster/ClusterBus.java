@@ -0,0 +1,252 @@
+package com.emocional.auth.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Bus de coordinación entre instancias: las cachés en memoria publican sus invalidaciones y las de
+ * las demás instancias se aplican localmente.
+ * Los mensajes no se envían uno a uno: se acumulan y cada flush-interval se agrupan en el menor número
+ * de payloads posible (ClusterTransport.MAX_PAYLOAD_BYTES). Antes de cada envío se ejecutan los
+ * beforeFlush registrados, que vuelcan contadores agregados (límite de intentos de login).
+ * Si un envío falla, su lote vuelve al principio de la cola y se reintenta en el siguiente flush.
+ * Cada instancia tiene un identificador aleatorio y descarta sus propios mensajes.
+ * Desactivado, publish no hace nada y el servicio se comporta como una sola instancia.
+ */
+public class ClusterBus implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterBus.class);
+
+    private static final String NODE = "n";
+    private static final String MESSAGES = "m";
+    private static final String TYPE = "t";
+    private static final String DATA = "d";
+    // Cabecera del sobre ({"n":"<uuid>","m":[]}) más margen
+    private static final int ENVELOPE_OVERHEAD = 64;
+
+    private final ClusterTransport transport;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Duration flushInterval;
+    private final int maxPending;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, Consumer<JsonNode>> handlers = new ConcurrentHashMap<>();
+    private final List<Runnable> resyncListeners = new CopyOnWriteArrayList<>();
+    private final List<Runnable> beforeFlush = new CopyOnWriteArrayList<>();
+    private final ConcurrentLinkedDeque<String> pending = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final Counter sentCounter;
+    private final Counter receivedCounter;
+    private final Counter droppedCounter;
+    private final Counter resyncCounter;
+
+    private ScheduledExecutorService flusher;
+
+    public ClusterBus(ClusterTransport transport, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                      boolean enabled, Duration flushInterval, int maxPending) {
+        this.transport = transport;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.flushInterval = flushInterval;
+        this.maxPending = maxPending;
+        this.sentCounter = messagesCounter(meterRegistry, "sent");
+        this.receivedCounter = messagesCounter(meterRegistry, "received");
+        this.droppedCounter = messagesCounter(meterRegistry, "dropped");
+        this.resyncCounter = Counter.builder("auth.cluster.resyncs")
+                .description("Resincronizaciones de cachés tras perder el canal de clúster")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Registra el manejador de un tipo de mensaje, invocado solo para mensajes de otras instancias.
+     */
+    public void subscribe(String type, Consumer<JsonNode> handler) {
+        handlers.put(type, handler);
+    }
+
+    /**
+     * Acción para recuperar el estado tras una reconexión (recargar desde la base de datos o vaciar la caché).
+     */
+    public void onResync(Runnable listener) {
+        resyncListeners.add(listener);
+    }
+
+    /**
+     * Acción ejecutada antes de cada envío, para volcar contadores agregados con publish.
+     */
+    public void beforeFlush(Runnable action) {
+        beforeFlush.add(action);
+    }
+
+    /**
+     * Encola un mensaje para las demás instancias; se envía en el siguiente flush.
+     */
+    public void publish(String type, Object data) {
+        if (!enabled) {
+            return;
+        }
+        ObjectNode message = objectMapper.createObjectNode();
+        message.put(TYPE, type);
+        message.set(DATA, objectMapper.valueToTree(data));
+        String json = message.toString();
+        if (json.getBytes(StandardCharsets.UTF_8).length + ENVELOPE_OVERHEAD > ClusterTransport.MAX_PAYLOAD_BYTES) {
+            droppedCounter.increment();
+            return;
+        }
+        // Cola acotada: si el canal no da abasto se descarta (las cachés caducan por TTL igualmente)
+        if (pendingCount.incrementAndGet() > maxPending) {
+            pendingCount.decrementAndGet();
+            droppedCounter.increment();
+            return;
+        }
+        pending.add(json);
+    }
+
+    public synchronized void start() {
+        if (!enabled || flusher != null) {
+            return;
+        }
+        transport.start(this::receive, this::resync);
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cluster-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Math.max(1, flushInterval.toMillis());
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Envía los mensajes pendientes agrupados en sobres que respetan el tamaño máximo del transporte.
+     * Si el transporte falla, el lote en curso (y el mensaje ya extraído que iba a abrir el siguiente)
+     * se devuelve a la cola; los siguientes siguen en ella.
+     */
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        beforeFlush.forEach(Runnable::run);
+        List<String> batch = new ArrayList<>();
+        int size = ENVELOPE_OVERHEAD;
+        // Mensaje ya sacado de la cola que aún no está en batch (se envía el lote anterior antes de añadirlo)
+        String message = null;
+        try {
+            while ((message = pending.poll()) != null) {
+                pendingCount.decrementAndGet();
+                int messageSize = message.getBytes(StandardCharsets.UTF_8).length + 1;
+                if (size + messageSize > ClusterTransport.MAX_PAYLOAD_BYTES) {
+                    send(batch);
+                    batch.clear();
+                    size = ENVELOPE_OVERHEAD;
+                }
+                batch.add(message);
+                size += messageSize;
+            }
+            send(batch);
+        } catch (RuntimeException ex) {
+            if (message != null) {
+                batch.add(message);
+            }
+            requeue(batch);
+            throw ex;
+        }
+    }
+
+    /**
+     * Mensajes pendientes de envío según el contador que acota la cola.
+     */
+    int pendingMessages() {
+        return pendingCount.get();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (flusher != null) {
+            flusher.shutdown();
+            flushQuietly();
+        }
+        transport.close();
+    }
+
+    private void send(List<String> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        transport.publish("{\"" + NODE + "\":\"" + nodeId + "\",\"" + MESSAGES + "\":[" + String.join(",", batch) + "]}");
+        sentCounter.increment(batch.size());
+    }
+
+    // Al principio de la cola y en el orden original; cuentan para max-pending como cualquier otro
+    private void requeue(List<String> batch) {
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            pending.addFirst(batch.get(i));
+        }
+        pendingCount.addAndGet(batch.size());
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            // Sin base de datos no hay canal; los mensajes siguen en la cola hasta el siguiente intento
+            log.warn("No se pudieron enviar los mensajes de clúster: {}", ex.getMessage());
+        }
+    }
+
+    private void receive(String payload) {
+        try {
+            JsonNode envelope = objectMapper.readTree(payload);
+            if (nodeId.equals(envelope.path(NODE).asText())) {
+                return;
+            }
+            for (JsonNode message : envelope.path(MESSAGES)) {
+                Consumer<JsonNode> handler = handlers.get(message.path(TYPE).asText());
+                if (handler != null) {
+                    receivedCounter.increment();
+                    handler.accept(message.path(DATA));
+                }
+            }
+        } catch (JsonProcessingException | RuntimeException ex) {
+            log.warn("Mensaje de clúster descartado: {}", ex.getMessage());
+        }
+    }
+
+    private void resync() {
+        resyncCounter.increment();
+        resyncListeners.forEach(Runnable::run);
+    }
+
+    private static Counter messagesCounter(MeterRegistry meterRegistry, String direction) {
+        return Counter.builder("auth.cluster.messages")
+                .description("Mensajes de coordinación entre instancias")
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+}
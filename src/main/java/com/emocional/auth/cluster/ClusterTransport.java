@@ -0,0 +1,30 @@
+package com.emocional.auth.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Canal de difusión entre instancias del servicio. Cada mensaje publicado llega a todas las instancias
+ * suscritas, incluida la que lo publicó (ClusterBus descarta los propios).
+ * La entrega es "como mucho una vez": tras una reconexión se avisa con onReconnect para que
+ * las cachés se resincronicen con la base de datos.
+ */
+public interface ClusterTransport extends AutoCloseable {
+
+    /**
+     * Tamaño máximo de un mensaje en bytes (el payload de NOTIFY está limitado a 8000).
+     */
+    int MAX_PAYLOAD_BYTES = 7900;
+
+    void publish(String payload);
+
+    /**
+     * Empieza a recibir mensajes.
+     * @param onMessage  Se invoca con cada payload recibido.
+     * @param onReconnect Se invoca tras recuperar el canal; pudieron perderse mensajes.
+     */
+    void start(Consumer<String> onMessage, Runnable onReconnect);
+
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,25 @@
+package com.emocional.auth.cluster;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Transporte en memoria: entrega cada mensaje, en el mismo hilo, a todos los suscriptores de la JVM.
+ * Es el transporte con el clúster desactivado (una sola instancia) y permite simular
+ * varias instancias en los tests compartiendo un mismo objeto.
+ */
+public class LoopbackClusterTransport implements ClusterTransport {
+
+    private final List<Consumer<String>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(String payload) {
+        subscribers.forEach(subscriber -> subscriber.accept(payload));
+    }
+
+    @Override
+    public void start(Consumer<String> onMessage, Runnable onReconnect) {
+        subscribers.add(onMessage);
+    }
+}
@@ -0,0 +1,118 @@
+package com.emocional.auth.cluster;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Transporte sobre LISTEN/NOTIFY de PostgreSQL, usando la misma base de datos que el servicio.
+ * Se publica con pg_notify desde el pool, en el hilo de envío de ClusterBus y fuera de cualquier transacción
+ * de negocio: el aviso sale en cuanto termina la consulta, no cuando se confirma el cambio que lo originó.
+ * Para escuchar se abre una conexión propia fuera del pool de HikariCP, que de otro modo quedaría
+ * retenida indefinidamente (y marcada como fuga por leak-detection-threshold); si se cae se reabre
+ * con espera creciente y se avisa con onReconnect.
+ */
+public class PostgresClusterTransport implements ClusterTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresClusterTransport.class);
+
+    // El canal se interpola en LISTEN: solo identificadores simples
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final String channel;
+    private final int pollMillis;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public PostgresClusterTransport(JdbcTemplate jdbcTemplate, String url, String username, String password,
+                                    String channel, Duration pollInterval) {
+        if (!CHANNEL.matcher(channel).matches()) {
+            throw new IllegalArgumentException("auth.cluster.channel no es un identificador válido: " + channel);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.channel = channel;
+        this.pollMillis = (int) pollInterval.toMillis();
+    }
+
+    @Override
+    public void publish(String payload) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> {
+        }, channel, payload);
+    }
+
+    @Override
+    public synchronized void start(Consumer<String> onMessage, Runnable onReconnect) {
+        if (running) {
+            return;
+        }
+        running = true;
+        listener = new Thread(() -> listen(onMessage, onReconnect), "cluster-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    private void listen(Consumer<String> onMessage, Runnable onReconnect) {
+        boolean connectedBefore = false;
+        long backoffMillis = 500;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                if (connectedBefore) {
+                    onReconnect.run();
+                }
+                connectedBefore = true;
+                backoffMillis = 500;
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            onMessage.accept(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException ex) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Canal de clúster {} caído, reintentando en {} ms: {}", channel, backoffMillis, ex.getMessage());
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF.toMillis());
+            }
+        }
+    }
+}
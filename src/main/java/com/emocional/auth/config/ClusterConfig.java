@@ -0,0 +1,72 @@
+package com.emocional.auth.config;
+
+import com.emocional.auth.cluster.ClusterBus;
+import com.emocional.auth.cluster.ClusterTransport;
+import com.emocional.auth.cluster.LoopbackClusterTransport;
+import com.emocional.auth.cluster.PostgresClusterTransport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+/**
+ * Coordinación entre instancias (auth.cluster.*). Con varias réplicas tras el balanceador, las cachés
+ * en memoria (usuarios, tokens emitidos, revocaciones, filtro de emails) y los contadores del límite
+ * de intentos se sincronizan por LISTEN/NOTIFY sobre la misma base de datos PostgreSQL, sin servicios
+ * externos. Desactivado, el transporte es local y el bus no envía nada.
+ */
+@Configuration
+public class ClusterConfig {
+
+	@Value("${auth.cluster.enabled:false}")
+	private boolean enabled;
+
+	// postgres (LISTEN/NOTIFY) o loopback (solo esta JVM, para pruebas)
+	@Value("${auth.cluster.transport:postgres}")
+	private String transport;
+
+	@Value("${auth.cluster.channel:auth_cluster}")
+	private String channel;
+
+	@Value("${auth.cluster.flush-interval:100ms}")
+	private Duration flushInterval;
+
+	@Value("${auth.cluster.max-pending:100000}")
+	private int maxPending;
+
+	@Value("${auth.cluster.poll-interval:500ms}")
+	private Duration pollInterval;
+
+	@Bean
+	public ClusterTransport clusterTransport(JdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties) {
+		if (enabled && "postgres".equals(transport)) {
+			return new PostgresClusterTransport(jdbcTemplate,
+					dataSourceProperties.determineUrl(),
+					dataSourceProperties.determineUsername(),
+					dataSourceProperties.determinePassword(),
+					channel,
+					pollInterval);
+		}
+		return new LoopbackClusterTransport();
+	}
+
+	@Bean
+	public ClusterBus clusterBus(ClusterTransport clusterTransport, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+		return new ClusterBus(clusterTransport, objectMapper, meterRegistry, enabled, flushInterval, maxPending);
+	}
+
+	/**
+	 * Se empieza a escuchar cuando las cachés ya cargaron su estado inicial.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void startClusterBus(ApplicationReadyEvent event) {
+		event.getApplicationContext().getBean(ClusterBus.class).start();
+	}
+}
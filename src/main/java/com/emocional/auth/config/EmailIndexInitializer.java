@@ -0,0 +1,57 @@
+package com.emocional.auth.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * UserRepository.findByEmail busca por lower(email), así que dos cuentas que solo difieren en mayúsculas
+ * harían fallar el login (IncorrectResultSizeDataAccessException). En prod lo impide el índice único
+ * de V2__app_user_lower_email_index.sql; sin Flyway (ddl-auto=update) este componente hace lo mismo al
+ * arrancar: detiene el arranque si ya hay duplicados y, en PostgreSQL, crea el índice funcional.
+ */
+@Component
+// entityManagerFactory: ddl-auto tiene que haber creado app_user antes de la comprobación
+@DependsOn("entityManagerFactory")
+@ConditionalOnProperty(name = "spring.flyway.enabled", havingValue = "false")
+public class EmailIndexInitializer {
+
+	private static final Logger log = LoggerFactory.getLogger(EmailIndexInitializer.class);
+
+	private static final String DUPLICATES_SQL =
+			"SELECT lower(email) FROM app_user GROUP BY lower(email) HAVING count(*) > 1";
+	// Mismo nombre que en V2: si luego se activa Flyway, IF NOT EXISTS lo reutiliza
+	private static final String INDEX_SQL =
+			"CREATE UNIQUE INDEX IF NOT EXISTS ux_app_user_email_lower ON app_user (lower(email))";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public EmailIndexInitializer(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@PostConstruct
+	void ensureCaseInsensitiveUniqueEmails() {
+		List<String> duplicated = jdbcTemplate.queryForList(DUPLICATES_SQL, String.class);
+		if (!duplicated.isEmpty()) {
+			throw new IllegalStateException("app_user tiene " + duplicated.size()
+					+ " emails repetidos sin distinguir mayúsculas (p. ej. " + duplicated.get(0)
+					+ "); fusiona o renombra esas cuentas antes de arrancar. Ver V2__app_user_lower_email_index.sql");
+		}
+		String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+				connection.getMetaData().getDatabaseProductName());
+		if ("PostgreSQL".equals(database)) {
+			jdbcTemplate.execute(INDEX_SQL);
+		} else {
+			// H2 (tests) no admite índices sobre expresiones; la comprobación de arriba sigue aplicándose
+			log.debug("Índice ux_app_user_email_lower no creado: {} no admite índices funcionales", database);
+		}
+	}
+}
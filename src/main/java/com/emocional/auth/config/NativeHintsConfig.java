@@ -0,0 +1,69 @@
+package com.emocional.auth.config;
+
+import com.emocional.auth.model.LoginAudit;
+import com.emocional.auth.model.RefreshToken;
+import com.emocional.auth.model.RevokedToken;
+import com.emocional.auth.model.User;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Pistas de reflexión y recursos para la imagen nativa (perfil native) y el procesamiento AOT.
+ * Sin efecto al ejecutar en la JVM.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.AuthRuntimeHints.class)
+public class NativeHintsConfig {
+
+    /**
+     * - Entidades: Hibernate accede por reflexión a los campos y al constructor sin argumentos que
+     *   genera Lombok; User además se serializa como principal de Spring Security.
+     * - jjwt 0.11: Jwts instancia sus implementaciones por nombre (Classes.newInstance) y descubre
+     *   el serializador Jackson y los códecs de compresión mediante ServiceLoader.
+     */
+    static class AuthRuntimeHints implements RuntimeHintsRegistrar {
+
+        private static final String[] JJWT_IMPL_CLASSES = {
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.impl.DefaultHeader",
+                "io.jsonwebtoken.impl.DefaultJwsHeader",
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+                "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        };
+
+        private static final String[] JJWT_SERVICES = {
+                "io.jsonwebtoken.io.Serializer",
+                "io.jsonwebtoken.io.Deserializer",
+                "io.jsonwebtoken.CompressionCodec"
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (Class<?> entity : new Class<?>[] {User.class, RefreshToken.class, RevokedToken.class, LoginAudit.class}) {
+                hints.reflection().registerType(entity,
+                        MemberCategory.DECLARED_FIELDS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+
+            for (String className : JJWT_IMPL_CLASSES) {
+                hints.reflection().registerTypeIfPresent(classLoader, className,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            for (String service : JJWT_SERVICES) {
+                hints.resources().registerPattern("META-INF/services/" + service);
+                hints.reflection().registerTypeIfPresent(classLoader, service,
+                        MemberCategory.INTROSPECT_PUBLIC_METHODS);
+            }
+        }
+    }
+}
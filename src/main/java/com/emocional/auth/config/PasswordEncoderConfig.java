@@ -0,0 +1,111 @@
+package com.emocional.auth.config;
+
+import com.emocional.auth.security.BCryptCalibrator;
+import com.emocional.auth.security.BoundedPasswordEncoder;
+import com.emocional.auth.security.PasswordHashingEndpoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuración del hashing de contraseñas.
+ * Los hashes se guardan con prefijo ({bcrypt}, {argon2}) mediante DelegatingPasswordEncoder;
+ * los hashes antiguos sin prefijo se verifican como BCrypt y se migran en el siguiente login correcto,
+ * igual que los que tengan un coste inferior al configurado.
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+	private static final String BCRYPT = "bcrypt";
+	private static final String ARGON2 = "argon2";
+
+	// Algoritmo para los nuevos hashes: bcrypt o argon2
+	@Value("${auth.password.encoder:bcrypt}")
+	private String encoderId;
+
+	// Coste de BCrypt cuando no se calibra al arrancar
+	@Value("${auth.password.bcrypt.strength:10}")
+	private int bcryptStrength;
+
+	@Value("${auth.password.calibration.enabled:false}")
+	private boolean calibrationEnabled;
+
+	@Value("${auth.password.calibration.target-verify-latency:250ms}")
+	private Duration calibrationTarget;
+
+	@Value("${auth.password.calibration.min-strength:10}")
+	private int calibrationMinStrength;
+
+	@Value("${auth.password.calibration.max-strength:14}")
+	private int calibrationMaxStrength;
+
+	// Hilos dedicados a BCrypt (0 = número de núcleos disponibles)
+	@Value("${auth.password-hashing.threads:0}")
+	private int hashingThreads;
+
+	// Operaciones de hashing que pueden esperar en cola antes de responder 503
+	@Value("${auth.password-hashing.queue-capacity:64}")
+	private int hashingQueueCapacity;
+
+	@Value("${auth.password-hashing.retry-after-seconds:2}")
+	private long hashingRetryAfterSeconds;
+
+	// Resultado de la calibración al arrancar (null si está desactivada)
+	private BCryptCalibrator.Result calibration;
+
+	/**
+	 * Calibración opcional del coste de BCrypt para la latencia objetivo en la CPU actual.
+	 */
+	@PostConstruct
+	void calibrate() {
+		if (calibrationEnabled) {
+			calibration = BCryptCalibrator.calibrate(calibrationTarget, calibrationMinStrength, calibrationMaxStrength);
+		}
+	}
+
+	/**
+	 * El hashing se ejecuta en un pool acotado para no agotar los hilos de Tomcat durante picos de login.
+	 */
+	@Bean
+	public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+		int strength = effectiveStrength();
+		BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+
+		Map<String, PasswordEncoder> encoders = new HashMap<>();
+		encoders.put(BCRYPT, bcrypt);
+		encoders.put(ARGON2, Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+		if (!encoders.containsKey(encoderId)) {
+			throw new IllegalStateException("auth.password.encoder no soportado: " + encoderId);
+		}
+		DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(encoderId, encoders);
+		// Hashes guardados antes de usar prefijos: BCrypt plano
+		delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+		int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+		return new BoundedPasswordEncoder(
+				delegating,
+				threads,
+				hashingQueueCapacity,
+				hashingRetryAfterSeconds,
+				meterRegistry);
+	}
+
+	@Bean
+	public PasswordHashingEndpoint passwordHashingEndpoint() {
+		return new PasswordHashingEndpoint(encoderId, effectiveStrength(), calibration);
+	}
+
+	private int effectiveStrength() {
+		return calibration != null ? calibration.strength() : bcryptStrength;
+	}
+}
@@ -1,5 +1,8 @@
 package com.emocional.auth.config;
 
+import com.emocional.auth.security.AdaptiveConcurrencyLimitFilter;
+import com.emocional.auth.security.AdminApiKeyFilter;
+import com.emocional.auth.security.LoginRateLimitFilter;
 import lombok.RequiredArgsConstructor;
 
 import java.util.ArrayList;
@@ -7,6 +10,8 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -18,10 +23,11 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -38,24 +44,23 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 public class SecurityConfig {
 
 	private final UserDetailsService userDetailsService; // CustomUserDetailsService
+	private final UserDetailsPasswordService userDetailsPasswordService; // CustomUserDetailsService
 
 	@Value("${ALLOWED_ORIGINS:}")
 	private String allowedOrigins;
 
-	@Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-	
 	/**
-     * Define el AuthenticationProvider usando el UserDetailsService y el PasswordEncoder.
-     * Esta es la pieza que faltaba para que el proceso de login funcione.
+     * Define el AuthenticationProvider usando el UserDetailsService y el PasswordEncoder
+     * (definido en PasswordEncoderConfig).
+     * Con el UserDetailsPasswordService, un login correcto cuyo hash use un algoritmo o coste
+     * antiguo se vuelve a hashear y se guarda de forma transparente.
      */
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
     
@@ -72,23 +77,42 @@ public class SecurityConfig {
    
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   AuthenticationProvider authenticationProvider,
+                                                   LoginRateLimitFilter loginRateLimitFilter,
+                                                   AdminApiKeyFilter adminApiKeyFilter) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 
              // *** ¡PASO CRÍTICO! Enlaza el AuthenticationProvider al HttpSecurity ***
                 // Esto asegura que la configuración de autenticación es utilizada por el filtro.
-                .authenticationProvider(authenticationProvider()) 
+                .authenticationProvider(authenticationProvider) 
+
+                // Rechaza intentos de login por encima del presupuesto antes de gastar BCrypt
+                .addFilterBefore(loginRateLimitFilter, UsernamePasswordAuthenticationFilter.class)
+
+                // Rutas de administración: ROLE_ADMIN a partir de la cabecera X-Admin-Key
+                .addFilterBefore(adminApiKeyFilter, UsernamePasswordAuthenticationFilter.class)
                 
             	// 3. Configurar Autorización de las Peticiones
                 .authorizeHttpRequests(auth -> {
                     auth
-                        // Permitir acceso público a Login, Register y Swagger UI
+                        // Permitir acceso público a Login, Register, JWKS y Swagger UI
                         .requestMatchers("/api/v1/auth/**",
+                                         "/.well-known/jwks.json",
                                          "/v3/api-docs/**",
                                          "/swagger-ui/**",
                                          "/swagger-ui.html").permitAll()
+
+                        // Operaciones de administración (alta masiva)
+                        .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
+
+                        // Health checks del balanceador: públicos
+                        .requestMatchers("/actuator/health/**").permitAll()
+
+                        // Resto de Actuator (Prometheus, metrics, passwordhashing): con la clave de administración
+                        .requestMatchers("/actuator", "/actuator/**").hasRole("ADMIN")
                         
                         // Asegurar todas las demás rutas
                         .anyRequest().authenticated();
@@ -102,6 +126,40 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * LoginRateLimitFilter es un @Component: se desactiva su registro automático como filtro
+     * de servlet para que solo se ejecute dentro de la cadena de Spring Security.
+     */
+    @Bean
+    public FilterRegistrationBean<LoginRateLimitFilter> loginRateLimitFilterRegistration(LoginRateLimitFilter filter) {
+        FilterRegistrationBean<LoginRateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    /**
+     * Igual que el anterior: AdminApiKeyFilter solo debe ejecutarse dentro de la cadena de seguridad.
+     */
+    @Bean
+    public FilterRegistrationBean<AdminApiKeyFilter> adminApiKeyFilterRegistration(AdminApiKeyFilter filter) {
+        FilterRegistrationBean<AdminApiKeyFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    /**
+     * El límite de concurrencia adaptativo se registra como filtro de servlet por delante de la cadena
+     * de Spring Security (orden SecurityProperties.DEFAULT_FILTER_ORDER): las peticiones rechazadas
+     * no llegan a gastar nada en ella.
+     */
+    @Bean
+    public FilterRegistrationBean<AdaptiveConcurrencyLimitFilter> adaptiveConcurrencyLimitFilterRegistration(
+            AdaptiveConcurrencyLimitFilter filter) {
+        FilterRegistrationBean<AdaptiveConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+
     /**
      * Define la fuente de configuración de CORS.
      * Retorna CorsConfigurationSource para que Spring Security la use directamente.
@@ -0,0 +1,26 @@
+package com.emocional.auth.config;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Validación del modo de hilos virtuales (perfil virtual-threads).
+ * Spring Boot ignora spring.threads.virtual.enabled en runtimes anteriores a Java 21,
+ * así que se falla al arrancar para no creer que el modo está activo cuando no lo está.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig implements InitializingBean {
+
+    private static final int MINIMUM_JAVA_VERSION = 21;
+
+    @Override
+    public void afterPropertiesSet() {
+        int javaVersion = Runtime.version().feature();
+        if (javaVersion < MINIMUM_JAVA_VERSION) {
+            throw new IllegalStateException("spring.threads.virtual.enabled=true requiere Java "
+                    + MINIMUM_JAVA_VERSION + "+ (runtime actual: Java " + javaVersion + ")");
+        }
+    }
+}
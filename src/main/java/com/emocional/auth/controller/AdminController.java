@@ -0,0 +1,47 @@
+package com.emocional.auth.controller;
+
+import com.emocional.auth.service.BulkUserProvisioningService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * Operaciones de administración. Requieren ROLE_ADMIN (cabecera X-Admin-Key, ver AdminApiKeyFilter).
+ */
+@RestController
+@RequestMapping("/api/v1/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String CSV = "text/csv";
+
+    private final BulkUserProvisioningService bulkUserProvisioningService;
+
+    /**
+     * Alta masiva de usuarios (instituciones). El cuerpo se lee en streaming:
+     * NDJSON con objetos {"name","email","password"} o CSV name,email,password (cabecera opcional).
+     * @return 200 OK con una línea NDJSON por fila (created, duplicate, invalid o error) y una línea final
+     *         con los totales; las líneas se envían a medida que se procesa cada lote.
+     */
+    @PostMapping(value = "/users/bulk", consumes = {NDJSON, CSV}, produces = NDJSON)
+    public void bulkProvision(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                              HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        BulkUserProvisioningService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(CSV))
+                ? BulkUserProvisioningService.Format.CSV
+                : BulkUserProvisioningService.Format.NDJSON;
+
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        bulkUserProvisioningService.provision(request.getInputStream(), format, response.getOutputStream());
+    }
+}
@@ -1,10 +1,16 @@
 package com.emocional.auth.controller;
 
 import com.emocional.auth.dto.AuthResponse;
+import com.emocional.auth.dto.IntrospectRequest;
+import com.emocional.auth.dto.IntrospectResponse;
 import com.emocional.auth.dto.LoginRequest;
+import com.emocional.auth.dto.LogoutRequest;
+import com.emocional.auth.dto.RefreshRequest;
 import com.emocional.auth.dto.RegisterRequest;
 import com.emocional.auth.service.AuthService;
+import com.emocional.auth.util.AuthMetrics;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,7 +25,11 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin(origins = "*")
 public class AuthController {
 
+    // Latencia de extremo a extremo por operación y resultado (success, bad_credentials, duplicate_email...)
+    private static final String REQUEST_TIMER = "auth.requests";
+
     private final AuthService authService;
+    private final AuthMetrics authMetrics;
 
     /**
      * Endpoint para registrar un nuevo usuario en el sistema.
@@ -28,7 +38,7 @@ public class AuthController {
      */
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(@RequestBody RegisterRequest request) {
-        AuthResponse authResponse = authService.register(request);
+        AuthResponse authResponse = authMetrics.record(REQUEST_TIMER, "register", () -> authService.register(request));
         return new ResponseEntity<>(authResponse, HttpStatus.CREATED);
     }
 
@@ -39,9 +49,56 @@ public class AuthController {
      */
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(@RequestBody LoginRequest request) {
-        AuthResponse authResponse = authService.login(request);
+        AuthResponse authResponse = authMetrics.record(REQUEST_TIMER, "login", () -> authService.login(request));
+        return ResponseEntity.ok(authResponse);
+    }
+
+    /**
+     * Endpoint para renovar el token de acceso sin reenviar la contraseña.
+     * El refresh token recibido queda invalidado y se entrega uno nuevo.
+     * @param request Refresh token vigente.
+     * @return 200 OK con un nuevo JWT y un nuevo refresh token; 401 si el refresh token no es válido.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@RequestBody RefreshRequest request) {
+        AuthResponse authResponse = authMetrics.record(REQUEST_TIMER, "refresh", () -> authService.refresh(request));
         return ResponseEntity.ok(authResponse);
     }
 
-    // Nota: La gestión de perfil y logout seguro se implementaría en futuras iteraciones
+    /**
+     * Endpoint para cerrar sesión. Revoca el JWT enviado en la cabecera Authorization
+     * y, si el cuerpo incluye el refresh token, también su sesión.
+     * Con auth.token-cache.enabled, los logins del mismo cliente (IP y User-Agent) dentro de la ventana de
+     * reutilización reciben el mismo JWT: revocarlo cierra todas esas sesiones (p. ej. otras pestañas del
+     * mismo navegador), pero nunca las de otros dispositivos, que tienen su propio jti.
+     * @param authorization Cabecera "Bearer &lt;token&gt;".
+     * @param request Refresh token opcional.
+     * @return 204 No Content si el token se revocó.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                       @RequestBody(required = false) LogoutRequest request) {
+        authService.logout(extractBearerToken(authorization), request);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Endpoint de introspección para otros servicios (Diary Service).
+     * Se resuelve en memoria: firma, expiración y lista de revocación.
+     * @param request Token a validar.
+     * @return 200 OK con active=true y los claims principales, o active=false.
+     */
+    @PostMapping("/introspect")
+    public ResponseEntity<IntrospectResponse> introspect(@RequestBody IntrospectRequest request) {
+        return ResponseEntity.ok(authService.introspect(request));
+    }
+
+    private static String extractBearerToken(String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            throw new IllegalArgumentException("Se requiere la cabecera Authorization: Bearer <token>.");
+        }
+        return authorization.substring("Bearer ".length()).trim();
+    }
+
+    // Nota: La gestión de perfil se implementaría en futuras iteraciones
 }
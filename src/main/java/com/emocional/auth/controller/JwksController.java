@@ -0,0 +1,74 @@
+package com.emocional.auth.controller;
+
+import com.emocional.auth.util.JwtUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+/**
+ * Publica las claves públicas de firma (JWKS) para que los servicios consumidores
+ * verifiquen los JWT localmente. La respuesta es cacheable y admite peticiones condicionales (ETag).
+ * Un servicio que reciba un kid desconocido debe volver a descargar el documento.
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final JwtUtil jwtUtil;
+
+    @Value("${jwt.jwks.max-age:5m}")
+    private Duration maxAge;
+
+    /**
+     * @param ifNoneMatch ETag que el cliente ya tiene en caché.
+     * @return 200 OK con el JWKS, o 304 Not Modified si no ha cambiado.
+     */
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> jwks(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        JwtUtil.JwkSet jwks = jwtUtil.getJwks();
+        CacheControl cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+
+        if (matches(ifNoneMatch, jwks.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(jwks.etag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(jwks.etag())
+                .cacheControl(cacheControl)
+                .body(jwks.json());
+    }
+
+    /**
+     * Comparación débil de If-None-Match (RFC 9110): admite "*", listas separadas por comas
+     * y el prefijo W/ que añaden algunos proxies al comprimir la respuesta.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -9,4 +9,6 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class AuthResponse {
     private String token;
+    // Token opaco de larga duración para obtener nuevos tokens de acceso sin reenviar la contraseña
+    private String refreshToken;
 }
@@ -0,0 +1,32 @@
+package com.emocional.auth.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado por fila del alta masiva de usuarios (una línea NDJSON por fila de entrada).
+ * status: created, duplicate, invalid o error (fallo interno al procesar esa fila).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkUserResult {
+
+    public static final String CREATED = "created";
+    public static final String DUPLICATE = "duplicate";
+    public static final String INVALID = "invalid";
+    public static final String ERROR = "error";
+
+    // Número de línea en el fichero de entrada (empezando en 1)
+    private long line;
+
+    private String email;
+
+    private String status;
+
+    // Motivo del rechazo (solo para invalid y error)
+    private String message;
+}
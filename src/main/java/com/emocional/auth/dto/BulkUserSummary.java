@@ -0,0 +1,19 @@
+package com.emocional.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Totales del alta masiva; se envía como última línea de la respuesta.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUserSummary {
+
+    private long created;
+    private long duplicates;
+    private long invalid;
+    private long errors;
+}
@@ -0,0 +1,11 @@
+package com.emocional.auth.dto;
+
+import lombok.Data;
+
+/**
+ * DTO para la solicitud de introspección de un token de acceso.
+ */
+@Data
+public class IntrospectRequest {
+    private String token;
+}
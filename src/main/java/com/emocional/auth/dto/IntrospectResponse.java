@@ -0,0 +1,35 @@
+package com.emocional.auth.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de la introspección de un token (estilo RFC 7662).
+ * Si active es false no se devuelve ningún otro dato.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IntrospectResponse {
+
+    private boolean active;
+
+    // Email del usuario
+    private String sub;
+
+    private Long userId;
+
+    // Expiración en segundos desde epoch
+    private Long exp;
+
+    private String jti;
+
+    public static IntrospectResponse inactive() {
+        return IntrospectResponse.builder().active(false).build();
+    }
+}
@@ -0,0 +1,11 @@
+package com.emocional.auth.dto;
+
+import lombok.Data;
+
+/**
+ * DTO opcional para el logout. Si incluye el refresh token, también se revoca su sesión.
+ */
+@Data
+public class LogoutRequest {
+    private String refreshToken;
+}
@@ -0,0 +1,11 @@
+package com.emocional.auth.dto;
+
+import lombok.Data;
+
+/**
+ * DTO para la solicitud de renovación del token de acceso.
+ */
+@Data
+public class RefreshRequest {
+    private String refreshToken;
+}
@@ -0,0 +1,15 @@
+package com.emocional.auth.exception;
+
+/**
+ * Se lanza al registrar una contraseña que aparece en filtraciones conocidas.
+ * Extiende IllegalArgumentException para responder 400 como el resto de validaciones del registro.
+ */
+public class BreachedPasswordException extends IllegalArgumentException {
+
+    // También lo usa el alta masiva como mensaje de la fila rechazada
+    public static final String MESSAGE = "La contraseña aparece en filtraciones de datos conocidas. Elige otra.";
+
+    public BreachedPasswordException() {
+        super(MESSAGE);
+    }
+}
@@ -0,0 +1,12 @@
+package com.emocional.auth.exception;
+
+/**
+ * Se lanza al registrar un email que ya existe.
+ * Extiende IllegalArgumentException para conservar la respuesta 400 existente.
+ */
+public class DuplicateEmailException extends IllegalArgumentException {
+
+    public DuplicateEmailException() {
+        super("El email ya está en uso.");
+    }
+}
@@ -0,0 +1,20 @@
+package com.emocional.auth.exception;
+
+import lombok.Getter;
+
+/**
+ * Se lanza cuando el servicio rechaza trabajo por estar saturado (por ejemplo,
+ * la cola de hashing de contraseñas está llena).
+ * Se mapea a 503 Service Unavailable con la cabecera Retry-After.
+ */
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+
+    // Segundos sugeridos al cliente antes de reintentar
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
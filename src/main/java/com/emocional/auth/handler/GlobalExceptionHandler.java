@@ -1,12 +1,16 @@
 package com.emocional.auth.handler;
 
+import io.jsonwebtoken.JwtException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import com.emocional.auth.dto.ErrorResponse;
+import com.emocional.auth.exception.ServiceOverloadedException;
 
 /**
  * Clase centralizada para el manejo global de excepciones en la aplicación.
@@ -51,6 +55,60 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, status);
     }
 
+    /**
+     * Maneja la JwtException, lanzada cuando un token enviado por el cliente (logout) no es válido
+     * o ya expiró. Se mapea a Unauthorized (401).
+     *
+     * @param ex La excepción lanzada por jjwt.
+     * @return ResponseEntity con el DTO ErrorResponse y estado HTTP 401.
+     */
+    @ExceptionHandler(JwtException.class)
+    public ResponseEntity<ErrorResponse> handleJwtException(JwtException ex) {
+        HttpStatus status = HttpStatus.UNAUTHORIZED; // 401
+        ErrorResponse errorResponse = new ErrorResponse(
+                "Token inválido o expirado.",
+                status.value(),
+                status.getReasonPhrase()
+        );
+        return new ResponseEntity<>(errorResponse, status);
+    }
+
+    /**
+     * Maneja la ServiceOverloadedException, lanzada cuando el pool de hashing está saturado.
+     * Se responde rápido con 503 y Retry-After para que el cliente reintente más tarde.
+     *
+     * @param ex La excepción lanzada.
+     * @return ResponseEntity con el DTO ErrorResponse y estado HTTP 503.
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleServiceOverloadedException(ServiceOverloadedException ex) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE; // 503
+        ErrorResponse errorResponse = new ErrorResponse(
+                ex.getMessage(),
+                status.value(),
+                status.getReasonPhrase()
+        );
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    /**
+     * Maneja la InternalAuthenticationServiceException.
+     * Spring Security envuelve aquí los errores ocurridos al cargar el usuario (incluida la saturación
+     * del pool de hashing en la verificación de emails inexistentes), por lo que se desenvuelve la causa.
+     *
+     * @param ex La excepción lanzada por Spring Security.
+     * @return ResponseEntity con estado 503 si la causa es saturación, 500 en otro caso.
+     */
+    @ExceptionHandler(InternalAuthenticationServiceException.class)
+    public ResponseEntity<ErrorResponse> handleInternalAuthenticationServiceException(InternalAuthenticationServiceException ex) {
+        if (ex.getCause() instanceof ServiceOverloadedException overloaded) {
+            return handleServiceOverloadedException(overloaded);
+        }
+        return handleAllExceptions(ex);
+    }
+
     /**
      * Manejador de excepciones genérico (catch-all) para cualquier excepción no prevista.
      * Esto asegura que nunca se envíe un error no estructurado al cliente (Internal Server Error - 500).
@@ -0,0 +1,49 @@
+package com.emocional.auth.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Registro de solo inserción de cada intento de login.
+ * Lo escribe LoginAuditService por lotes JDBC; el mapeo JPA sirve para generar la tabla con
+ * ddl-auto en desarrollo y tests. En producción la tabla está particionada por mes sobre
+ * occurred_at (V3__login_audit.sql), así que la retención se resuelve borrando particiones;
+ * si ddl-auto ya la había creado sin particionar, V3 la convierte conservando las filas.
+ */
+@Entity
+@Table(name = "login_audit", indexes = {
+        @Index(name = "ix_login_audit_user", columnList = "userId, occurredAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoginAudit {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+
+    // null si el email no corresponde a ningún usuario o el login falló
+    private Long userId;
+
+    private String email;
+
+    // success, bad_credentials, overloaded o error (AuthMetrics.outcomeOf)
+    @Column(nullable = false, length = 32)
+    private String outcome;
+
+    @Column(length = 64)
+    private String ip;
+
+    @Column(length = 512)
+    private String userAgent;
+}
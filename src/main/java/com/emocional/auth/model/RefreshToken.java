@@ -0,0 +1,50 @@
+package com.emocional.auth.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Refresh token persistido. Solo se guarda el hash SHA-256 del token, nunca el valor en claro.
+ * Todos los tokens obtenidos por rotación a partir del mismo login comparten familyId,
+ * lo que permite revocar la familia completa si se detecta la reutilización de un token ya rotado.
+ */
+@Entity
+@Table(name = "refresh_token", indexes = {
+        @Index(name = "ux_refresh_token_hash", columnList = "tokenHash", unique = true),
+        @Index(name = "ix_refresh_token_family", columnList = "familyId"),
+        @Index(name = "ix_refresh_token_user", columnList = "user_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false, length = 36)
+    private String familyId;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    // Momento en que se rotó o revocó; null mientras el token siga vigente
+    private Instant revokedAt;
+}
@@ -0,0 +1,34 @@
+package com.emocional.auth.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * JWT revocado antes de su expiración, identificado por su claim jti.
+ * La fila solo es necesaria hasta que el token expira por sí mismo.
+ */
+@Entity
+@Table(name = "revoked_token", indexes = {
+        @Index(name = "ix_revoked_token_expires_at", columnList = "expiresAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken {
+
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @Column(nullable = false)
+    private Instant revokedAt;
+}
@@ -40,6 +40,10 @@ public class User implements UserDetails {
 
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // Solo lo actualiza LoginAuditService (UPDATE por lotes); JPA no lo escribe para no pisarlo con un valor antiguo
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime lastLoginAt;
+
     // --- Implementación de UserDetails ---
 
     @Override
@@ -5,13 +5,31 @@ import com.emocional.auth.model.User;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Repositorio para la entidad User.
  */
 public interface UserRepository extends JpaRepository<User, Long> {
     
-    Optional<User> findByEmail(String email);
+    /**
+     * Búsqueda sin distinguir mayúsculas; usa el índice funcional ux_app_user_email_lower, que también
+     * garantiza un único resultado (V2 con Flyway, EmailIndexInitializer con ddl-auto).
+     */
+    @Query("select u from User u where lower(u.email) = lower(:email)")
+    Optional<User> findByEmail(@Param("email") String email);
     
     boolean existsByEmail(String email);
+
+    /**
+     * Actualiza solo el hash con un UPDATE directo, sin modificar ninguna instancia de User
+     * (que puede estar compartida en la caché de UserLookupService).
+     */
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
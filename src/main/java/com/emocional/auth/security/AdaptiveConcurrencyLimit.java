@@ -0,0 +1,137 @@
+package com.emocional.auth.security;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Límite de peticiones en vuelo que se ajusta a partir de la latencia observada (esquema de gradiente,
+ * como Gradient2 de Netflix concurrency-limits), con un recorte multiplicativo ante rechazos internos.
+ *
+ * Cada prioridad tiene su latencia de referencia (un login con BCrypt tarda ~100 veces más que un refresh),
+ * así que cada muestra se compara con la de su propia clase. La media reciente de esos cocientes
+ * ("slowdown") indica cuánto más lento va el servicio que en reposo:
+ *   gradiente = clamp(tolerancia / slowdown, 0.5, 1)
+ *   límite    = límite * gradiente + sqrt(límite)
+ * Con gradiente 1 el límite crece despacio hasta max-limit; cuando la latencia supera la tolerancia, baja.
+ * Las peticiones LOW solo pueden ocupar el límite menos una reserva, que queda para las HIGH;
+ * las CRITICAL (health checks) se admiten siempre.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    public enum Priority {
+        CRITICAL, HIGH, LOW
+    }
+
+    // Ventanas (en muestras) de las medias exponenciales. Una latencia alta sostenida termina
+    // aceptándose como la nueva referencia (p. ej. una base de datos más lenta de forma permanente)
+    private static final double BASELINE_ALPHA = 2.0 / (2000 + 1);
+    private static final double BASELINE_RECOVERY_ALPHA = 2.0 / (10 + 1);
+    private static final double SLOWDOWN_ALPHA = 2.0 / (20 + 1);
+
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double DROP_BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double lowPriorityReserve;
+    private final double tolerance;
+    private final double smoothing;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // Protegidos por this
+    private final double[] baselineNanos = new double[Priority.values().length];
+    private double slowdown = 1.0;
+
+    /**
+     * @param lowPriorityReserve fracción del límite que las peticiones LOW no pueden ocupar.
+     * @param tolerance          cuánto puede crecer la latencia respecto a la de referencia sin reducir el límite.
+     * @param smoothing          peso (0-1] de cada nuevo cálculo del límite.
+     */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit,
+                                    double lowPriorityReserve, double tolerance, double smoothing) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.lowPriorityReserve = lowPriorityReserve;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.limit = clamp(initialLimit);
+    }
+
+    /**
+     * @return true si la petición se admite; en ese caso hay que llamar a release al terminar.
+     */
+    public boolean tryAcquire(Priority priority) {
+        if (priority == Priority.CRITICAL) {
+            inFlight.incrementAndGet();
+            return true;
+        }
+        int allowed = allowed(priority);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param rttNanos duración de la petición; 0 si no debe usarse como muestra (p. ej. altas masivas).
+     * @param dropped  la petición fue rechazada más adentro por saturación (503 del pool de BCrypt).
+     */
+    public void release(Priority priority, long rttNanos, boolean dropped) {
+        int inFlightAtSample = inFlight.getAndDecrement();
+        if (dropped) {
+            synchronized (this) {
+                limit = clamp(limit * DROP_BACKOFF_RATIO);
+            }
+        } else if (rttNanos > 0) {
+            onSample(priority, rttNanos, inFlightAtSample);
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private int allowed(Priority priority) {
+        int current = getLimit();
+        if (priority != Priority.LOW) {
+            return current;
+        }
+        return Math.max(1, current - (int) Math.ceil(current * lowPriorityReserve));
+    }
+
+    private synchronized void onSample(Priority priority, long rttNanos, int inFlightAtSample) {
+        int index = priority.ordinal();
+        double baseline = baselineNanos[index];
+        if (baseline == 0) {
+            baselineNanos[index] = rttNanos;
+            return;
+        }
+        // La referencia baja rápido y sube despacio: se aproxima a la latencia sin carga
+        double alpha = rttNanos < baseline ? BASELINE_RECOVERY_ALPHA : BASELINE_ALPHA;
+        baselineNanos[index] = baseline + alpha * (rttNanos - baseline);
+        slowdown += SLOWDOWN_ALPHA * (rttNanos / baseline - slowdown);
+
+        // Con menos de la mitad del límite en uso la latencia no dice nada de la capacidad
+        double current = limit;
+        if (inFlightAtSample < current / 2) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance / slowdown));
+        double target = current * gradient + Math.sqrt(current);
+        limit = clamp(current * (1 - smoothing) + target * smoothing);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
@@ -0,0 +1,142 @@
+package com.emocional.auth.security;
+
+import com.emocional.auth.dto.ErrorResponse;
+import com.emocional.auth.security.AdaptiveConcurrencyLimit.Priority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Limita las peticiones en vuelo con AdaptiveConcurrencyLimit antes de la cadena de Spring Security
+ * (ver SecurityConfig): cuando PostgreSQL se ralentiza o BCrypt satura la CPU, el exceso se rechaza
+ * enseguida con 503 y Retry-After en lugar de encolarse y alargar la latencia de todas las peticiones.
+ * Prioridades: los health checks (/actuator/health/**) siempre pasan (un health lento hace que la plataforma
+ * reinicie el contenedor); refresh, introspect, logout, JWKS y el resto de rutas pueden usar todo el límite;
+ * login, registro y alta masiva solo el límite menos auth.concurrency-limit.low-priority-reserve.
+ */
+@Component
+public class AdaptiveConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String HEALTH_PATH = "/actuator/health";
+    private static final String ADMIN_PREFIX = "/api/v1/admin/";
+    private static final Set<String> LOW_PRIORITY_PATHS = Set.of(
+            LoginRateLimitFilter.LOGIN_PATH,
+            "/api/v1/auth/register");
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long retryAfterSeconds;
+    private final AdaptiveConcurrencyLimit limit;
+
+    private final Map<Priority, Counter> admittedCounters = new EnumMap<>(Priority.class);
+    private final Map<Priority, Counter> rejectedCounters = new EnumMap<>(Priority.class);
+
+    public AdaptiveConcurrencyLimitFilter(ObjectMapper objectMapper,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${auth.concurrency-limit.enabled:true}") boolean enabled,
+                                          @Value("${auth.concurrency-limit.initial-limit:50}") int initialLimit,
+                                          @Value("${auth.concurrency-limit.min-limit:10}") int minLimit,
+                                          @Value("${auth.concurrency-limit.max-limit:400}") int maxLimit,
+                                          @Value("${auth.concurrency-limit.low-priority-reserve:0.2}") double lowPriorityReserve,
+                                          @Value("${auth.concurrency-limit.rtt-tolerance:2.0}") double rttTolerance,
+                                          @Value("${auth.concurrency-limit.smoothing:0.2}") double smoothing,
+                                          @Value("${auth.concurrency-limit.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit,
+                lowPriorityReserve, rttTolerance, smoothing);
+
+        for (Priority priority : Priority.values()) {
+            admittedCounters.put(priority, requestsCounter(meterRegistry, priority, "admitted"));
+            rejectedCounters.put(priority, requestsCounter(meterRegistry, priority, "rejected"));
+        }
+        Gauge.builder("auth.concurrency-limit.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Peticiones en vuelo permitidas actualmente")
+                .register(meterRegistry);
+        Gauge.builder("auth.concurrency-limit.in-flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Peticiones en vuelo")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getServletPath();
+        Priority priority = priorityOf(path);
+        if (!limit.tryAcquire(priority)) {
+            rejectedCounters.get(priority).increment();
+            reject(response);
+            return;
+        }
+        admittedCounters.get(priority).increment();
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // Las altas masivas duran lo que dure el fichero: no son una muestra de latencia
+            long rttNanos = path.startsWith(ADMIN_PREFIX) ? 0 : System.nanoTime() - start;
+            limit.release(priority, rttNanos, response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value());
+        }
+    }
+
+    AdaptiveConcurrencyLimit getLimit() {
+        return limit;
+    }
+
+    static Priority priorityOf(String path) {
+        // Solo las sondas de liveness/readiness: el resto de Actuator (o rutas inexistentes) cuenta como HIGH
+        if (path.equals(HEALTH_PATH) || path.startsWith(HEALTH_PATH + "/")) {
+            return Priority.CRITICAL;
+        }
+        if (LOW_PRIORITY_PATHS.contains(path) || path.startsWith(ADMIN_PREFIX)) {
+            return Priority.LOW;
+        }
+        return Priority.HIGH;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE; // 503
+        ErrorResponse errorResponse = new ErrorResponse(
+                "El servicio está saturado. Intenta de nuevo en unos segundos.",
+                status.value(),
+                status.getReasonPhrase()
+        );
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private static Counter requestsCounter(MeterRegistry meterRegistry, Priority priority, String outcome) {
+        return Counter.builder("auth.concurrency-limit.requests")
+                .description("Peticiones admitidas o rechazadas por el límite de concurrencia adaptativo")
+                .tag("priority", priority.name().toLowerCase(Locale.ROOT))
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,62 @@
+package com.emocional.auth.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Autentica las rutas de administración (/api/v1/admin/**) y los endpoints de Actuator salvo health
+ * con una clave compartida y les asigna ROLE_ADMIN. La clave se envía en la cabecera X-Admin-Key
+ * o como "Authorization: Bearer", que es lo que admite Prometheus en scrape_configs.authorization.
+ * Sin auth.admin.api-key configurada, esas rutas quedan cerradas (403).
+ */
+@Component
+public class AdminApiKeyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Admin-Key";
+    static final String ADMIN_PATH_PREFIX = "/api/v1/admin/";
+    static final String ACTUATOR_PATH = "/actuator";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final byte[] apiKey;
+
+    public AdminApiKeyFilter(@Value("${auth.admin.api-key:}") String apiKey) {
+        this.apiKey = StringUtils.hasText(apiKey) ? apiKey.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return apiKey == null || !(path.startsWith(ADMIN_PATH_PREFIX) || path.startsWith(ACTUATOR_PATH));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String presented = request.getHeader(HEADER);
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (presented == null && authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            presented = authorization.substring(BEARER_PREFIX.length());
+        }
+        // Comparación en tiempo constante para no filtrar la clave por latencia
+        if (presented != null && MessageDigest.isEqual(apiKey, presented.getBytes(StandardCharsets.UTF_8))) {
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,59 @@
+package com.emocional.auth.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Mide en la CPU actual el tiempo de verificación BCrypt para cada coste y elige el mayor coste
+ * cuya verificación no supere la latencia objetivo.
+ */
+public final class BCryptCalibrator {
+
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibracion-Contraseña-123";
+
+    private BCryptCalibrator() {
+    }
+
+    /**
+     * Resultado de la calibración.
+     * @param strength Coste elegido.
+     * @param target Latencia objetivo de una verificación.
+     * @param measuredMillis Mediana medida (ms) para cada coste probado.
+     */
+    public record Result(int strength, Duration target, Map<Integer, Double> measuredMillis) {
+    }
+
+    public static Result calibrate(Duration target, int minStrength, int maxStrength) {
+        Map<Integer, Double> measured = new LinkedHashMap<>();
+        int chosen = minStrength;
+        for (int strength = minStrength; strength <= maxStrength; strength++) {
+            double millis = medianVerifyMillis(strength);
+            measured.put(strength, millis);
+            if (millis > target.toMillis()) {
+                break;
+            }
+            chosen = strength;
+        }
+        return new Result(chosen, target, measured);
+    }
+
+    private static double medianVerifyMillis(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        String hash = encoder.encode(SAMPLE_PASSWORD);
+        // Una verificación de calentamiento antes de medir
+        encoder.matches(SAMPLE_PASSWORD, hash);
+        double[] samples = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.matches(SAMPLE_PASSWORD, hash);
+            samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
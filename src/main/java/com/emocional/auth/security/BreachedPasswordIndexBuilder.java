@@ -0,0 +1,129 @@
+package com.emocional.auth.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Genera el fichero de BreachedPasswordIndex a partir de un volcado de contraseñas filtradas.
+ *
+ * Formatos de entrada (una entrada por línea):
+ *   sha1       HASH[:CONTADOR], como el volcado "pwned-passwords-sha1-ordered-by-hash" de HIBP,
+ *              que ya viene ordenado: se procesa en streaming sin cargarlo en memoria
+ *   plaintext  una contraseña por línea (listas propias); se hashea y se ordena en memoria
+ *
+ * Uso: scripts/build-breached-index.sh ENTRADA SALIDA [sha1|plaintext] [CONTADOR_MINIMO]
+ * La salida se escribe en un temporal y se renombra de forma atómica: el servicio puede estar
+ * usando el fichero anterior proyectado en memoria y lo cambia al detectar el nuevo (hot-swap).
+ */
+public final class BreachedPasswordIndexBuilder {
+
+    private static final Logger log = LoggerFactory.getLogger(BreachedPasswordIndexBuilder.class);
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private BreachedPasswordIndexBuilder() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            log.error("Uso: BreachedPasswordIndexBuilder ENTRADA SALIDA [sha1|plaintext] [CONTADOR_MINIMO]");
+            System.exit(2);
+        }
+        Path input = Path.of(args[0]);
+        Path output = Path.of(args[1]);
+        boolean plaintext = args.length > 2 && "plaintext".equalsIgnoreCase(args[2]);
+        long minCount = args.length > 3 ? Long.parseLong(args[3]) : 1;
+
+        long written = build(input, output, plaintext, minCount);
+        log.info("{} hashes escritos en {} ({} bytes)", written, output, written * BreachedPasswordIndex.RECORD_SIZE);
+    }
+
+    /**
+     * @return número de hashes escritos.
+     */
+    public static long build(Path input, Path output, boolean plaintext, long minCount) throws IOException {
+        Path absolute = output.toAbsolutePath();
+        Path temporary = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        long written;
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16)) {
+            written = plaintext ? writePlaintext(reader, out) : writeSortedSha1(reader, out, minCount);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(temporary);
+            throw ex;
+        }
+        Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return written;
+    }
+
+    private static long writeSortedSha1(BufferedReader reader, OutputStream out, long minCount) throws IOException {
+        byte[] previous = null;
+        long written = 0;
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.strip();
+            if (line.isEmpty()) {
+                continue;
+            }
+            int colon = line.indexOf(':');
+            String hex = colon < 0 ? line : line.substring(0, colon);
+            if (colon >= 0 && Long.parseLong(line.substring(colon + 1).strip()) < minCount) {
+                continue;
+            }
+            if (hex.length() != BreachedPasswordIndex.RECORD_SIZE * 2) {
+                throw new IllegalArgumentException("Línea " + lineNumber + ": se esperaba un SHA-1 en hexadecimal");
+            }
+            byte[] hash = HEX.parseHex(hex);
+            if (previous != null) {
+                int comparison = Arrays.compareUnsigned(previous, hash);
+                if (comparison > 0) {
+                    throw new IllegalArgumentException("Línea " + lineNumber
+                            + ": la entrada no está ordenada por hash (ordenar con LC_ALL=C sort)");
+                }
+                if (comparison == 0) {
+                    continue;
+                }
+            }
+            out.write(hash);
+            previous = hash;
+            written++;
+        }
+        return written;
+    }
+
+    private static long writePlaintext(BufferedReader reader, OutputStream out) throws IOException {
+        List<byte[]> hashes = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.isEmpty()) {
+                hashes.add(BreachedPasswordIndex.sha1(line));
+            }
+        }
+        hashes.sort(Arrays::compareUnsigned);
+        byte[] previous = null;
+        long written = 0;
+        for (byte[] hash : hashes) {
+            if (previous == null || !Arrays.equals(previous, hash)) {
+                out.write(hash);
+                written++;
+            }
+            previous = hash;
+        }
+        return written;
+    }
+}
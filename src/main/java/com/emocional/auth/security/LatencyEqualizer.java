@@ -0,0 +1,91 @@
+package com.emocional.auth.security;
+
+import com.emocional.auth.exception.ServiceOverloadedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Reproduce la latencia de una verificación real sin gastar CPU.
+ * Guarda en un anillo sin bloqueos las duraciones de las últimas autenticaciones reales
+ * (consulta + cola + BCrypt) y, para un intento que se rechaza por el camino barato,
+ * duerme una de ellas elegida al azar: la distribución de tiempos es la misma en ambos caminos.
+ * <p>
+ * Contrapartida: la espera ahorra consulta y CPU, pero no hilos. Cada rechazo ocupa un hilo de Tomcat
+ * tanto tiempo como un login real, así que una avalancha de emails desconocidos podría agotar el
+ * conector. Por eso las esperas tienen la misma admisión que BoundedPasswordEncoder: como mucho
+ * hilos + cola de hashing (auth.password-hashing.*) simultáneas, y por encima se responde 503 con
+ * Retry-After, igual que un login real con el pool saturado (mismo comportamiento observable).
+ * Una espera asíncrona liberaría el hilo, pero obligaría a convertir todo el login en asíncrono.
+ */
+@Component
+public class LatencyEqualizer {
+
+    private final AtomicLongArray samples;
+    private final AtomicLong recorded = new AtomicLong();
+    private final long fallbackNanos;
+    private final Semaphore waits;
+    private final long retryAfterSeconds;
+
+    /**
+     * @param capacity Número de muestras recientes conservadas.
+     * @param fallback Latencia usada hasta tener muestras reales (tras arrancar).
+     * @param hashingThreads Hilos de hashing (0 = núcleos); con queueCapacity fija las esperas simultáneas.
+     */
+    public LatencyEqualizer(@Value("${auth.email-filter.latency-samples:256}") int capacity,
+                            @Value("${auth.email-filter.fallback-latency:100ms}") Duration fallback,
+                            @Value("${auth.password-hashing.threads:0}") int hashingThreads,
+                            @Value("${auth.password-hashing.queue-capacity:64}") int queueCapacity,
+                            @Value("${auth.password-hashing.retry-after-seconds:2}") long retryAfterSeconds) {
+        this.samples = new AtomicLongArray(capacity);
+        this.fallbackNanos = fallback.toNanos();
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        this.waits = new Semaphore(threads + queueCapacity);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Registra la duración de una autenticación que sí ejecutó la verificación de contraseña.
+     */
+    public void record(long nanos) {
+        long index = recorded.getAndIncrement();
+        samples.set((int) (index % samples.length()), nanos);
+    }
+
+    /**
+     * Duración aleatoria entre las observadas (o la de reserva con ±25 % de variación).
+     */
+    public long sampleNanos() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long count = Math.min(recorded.get(), samples.length());
+        if (count == 0) {
+            return fallbackNanos + (long) ((random.nextDouble() - 0.5) * 0.5 * fallbackNanos);
+        }
+        return samples.get(random.nextInt((int) count));
+    }
+
+    /**
+     * Bloquea el hilo actual durante una latencia muestreada. Dormir no consume CPU.
+     * @throws ServiceOverloadedException si ya hay tantas esperas como admite el pool de hashing.
+     */
+    public void await() {
+        if (!waits.tryAcquire()) {
+            throw new ServiceOverloadedException(
+                    "El servicio está saturado. Por favor, intenta de nuevo en unos segundos.",
+                    retryAfterSeconds);
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(sampleNanos());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            waits.release();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.emocional.auth.security;
+
+import com.emocional.auth.cluster.ClusterBus;
+import com.emocional.auth.dto.ErrorResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limita los intentos de login por IP y por cuenta antes de que lleguen a AuthServiceImpl.login,
+ * donde cada intento cuesta una verificación BCrypt completa.
+ * Cada clave tiene un TokenBucket sin bloqueos; las claves inactivas se expulsan (Caffeine)
+ * para que la memoria quede acotada aunque el atacante rote IPs o emails.
+ * Con varias instancias, los permisos concedidos se suman por clave y se difunden por ClusterBus en cada
+ * envío: el límite es global con un desfase de como mucho auth.cluster.flush-interval.
+ * El cuerpo se lee para extraer el email con un tope de auth.rate-limit.max-body-bytes (413 si se supera),
+ * de modo que un cliente no puede forzar a almacenar en memoria cuerpos arbitrarios.
+ */
+@Component
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    static final String LOGIN_PATH = "/api/v1/auth/login";
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Limiter ipLimiter;
+    private final Limiter accountLimiter;
+    private final int maxBodyBytes;
+
+    @Autowired(required = false)
+    void setClusterBus(ClusterBus clusterBus) {
+        if (enabled && clusterBus.isEnabled()) {
+            ipLimiter.share(clusterBus);
+            accountLimiter.share(clusterBus);
+        }
+    }
+
+    public LoginRateLimitFilter(ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${auth.rate-limit.enabled:true}") boolean enabled,
+                                @Value("${auth.rate-limit.ip.permits-per-minute:60}") int ipPermitsPerMinute,
+                                @Value("${auth.rate-limit.ip.burst:20}") int ipBurst,
+                                @Value("${auth.rate-limit.account.permits-per-minute:10}") int accountPermitsPerMinute,
+                                @Value("${auth.rate-limit.account.burst:5}") int accountBurst,
+                                @Value("${auth.rate-limit.max-keys:100000}") long maxKeys,
+                                @Value("${auth.rate-limit.idle-timeout:10m}") Duration idleTimeout,
+                                @Value("${auth.rate-limit.max-body-bytes:4096}") int maxBodyBytes) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxBodyBytes = maxBodyBytes;
+        this.ipLimiter = new Limiter("ip", ipPermitsPerMinute, ipBurst, maxKeys, idleTimeout, meterRegistry);
+        this.accountLimiter = new Limiter("account", accountPermitsPerMinute, accountBurst, maxKeys, idleTimeout, meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || !HttpMethod.POST.matches(request.getMethod())
+                || !LOGIN_PATH.equals(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.nanoTime();
+
+        long waitNanos = ipLimiter.tryAcquire(request.getRemoteAddr(), now);
+        if (waitNanos > 0) {
+            reject(response, waitNanos);
+            return;
+        }
+
+        CachedBodyHttpServletRequest cachedRequest;
+        try {
+            cachedRequest = new CachedBodyHttpServletRequest(request, maxBodyBytes);
+        } catch (CachedBodyHttpServletRequest.BodyTooLargeException ex) {
+            HttpStatus status = HttpStatus.PAYLOAD_TOO_LARGE; // 413
+            writeError(response, status, "El cuerpo de la petición es demasiado grande.");
+            return;
+        }
+        String email = extractEmail(cachedRequest.getBody());
+        if (email != null) {
+            waitNanos = accountLimiter.tryAcquire(email, now);
+            if (waitNanos > 0) {
+                reject(response, waitNanos);
+                return;
+            }
+        }
+        filterChain.doFilter(cachedRequest, response);
+    }
+
+    private String extractEmail(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            return email != null && email.isTextual() ? email.asText().trim().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException ex) {
+            // JSON inválido: lo rechazará el controlador
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS; // 429
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        writeError(response, status, "Demasiados intentos de inicio de sesión. Intenta de nuevo más tarde.");
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        ErrorResponse errorResponse = new ErrorResponse(
+                message,
+                status.value(),
+                status.getReasonPhrase()
+        );
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    /**
+     * Conjunto acotado de buckets por clave con sus contadores de admitidas/rechazadas.
+     */
+    private static final class Limiter {
+
+        // Claves por mensaje: IPs o emails de hasta ~100 caracteres caben en un payload de NOTIFY
+        private static final int KEYS_PER_MESSAGE = 50;
+
+        private final String message;
+        private final Cache<String, TokenBucket> buckets;
+        private final long emissionIntervalNanos;
+        private final int burst;
+        private final Counter admitted;
+        private final Counter rejected;
+
+        // Permisos concedidos aquí aún no difundidos; null si no se comparten
+        private volatile Map<String, AtomicInteger> unsent;
+
+        Limiter(String scope, int permitsPerMinute, int burst, long maxKeys, Duration idleTimeout,
+                MeterRegistry meterRegistry) {
+            this.message = "ratelimit." + scope;
+            this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, permitsPerMinute);
+            this.burst = burst;
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(idleTimeout)
+                    .build();
+            this.admitted = Counter.builder("auth.ratelimit.requests")
+                    .tag("scope", scope)
+                    .tag("outcome", "admitted")
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("auth.ratelimit.requests")
+                    .tag("scope", scope)
+                    .tag("outcome", "rejected")
+                    .register(meterRegistry);
+        }
+
+        long tryAcquire(String key, long nowNanos) {
+            long waitNanos = bucket(key, nowNanos).tryAcquire(nowNanos);
+            (waitNanos == 0 ? admitted : rejected).increment();
+            Map<String, AtomicInteger> pending = unsent;
+            if (waitNanos == 0 && pending != null) {
+                pending.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+            }
+            return waitNanos;
+        }
+
+        void share(ClusterBus clusterBus) {
+            unsent = new ConcurrentHashMap<>();
+            clusterBus.subscribe(message, counts -> {
+                long now = System.nanoTime();
+                counts.fields().forEachRemaining(entry ->
+                        bucket(entry.getKey(), now).consume(entry.getValue().asInt(), now));
+            });
+            clusterBus.beforeFlush(() -> publish(clusterBus));
+        }
+
+        private void publish(ClusterBus clusterBus) {
+            Map<String, Integer> batch = new HashMap<>();
+            Iterator<Map.Entry<String, AtomicInteger>> entries = unsent.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<String, AtomicInteger> entry = entries.next();
+                entries.remove();
+                // Un incremento simultáneo al volcado puede perderse: el contador compartido es aproximado
+                batch.put(entry.getKey(), entry.getValue().getAndSet(0));
+                if (batch.size() == KEYS_PER_MESSAGE) {
+                    clusterBus.publish(message, batch);
+                    batch = new HashMap<>();
+                }
+            }
+            if (!batch.isEmpty()) {
+                clusterBus.publish(message, batch);
+            }
+        }
+
+        private TokenBucket bucket(String key, long nowNanos) {
+            return buckets.get(key, k -> new TokenBucket(emissionIntervalNanos, burst, nowNanos));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.emocional.auth.security;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Endpoint de actuator (/actuator/passwordhashing) con la configuración efectiva del hashing de contraseñas
+ * y, si se ejecutó, el resultado de la calibración de BCrypt al arrancar.
+ */
+@Endpoint(id = "passwordhashing")
+public class PasswordHashingEndpoint {
+
+    private final String encoderId;
+    private final int bcryptStrength;
+    private final BCryptCalibrator.Result calibration;
+
+    public PasswordHashingEndpoint(String encoderId, int bcryptStrength, BCryptCalibrator.Result calibration) {
+        this.encoderId = encoderId;
+        this.bcryptStrength = bcryptStrength;
+        this.calibration = calibration;
+    }
+
+    @ReadOperation
+    public Map<String, Object> passwordHashing() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("encoder", encoderId);
+        details.put("bcryptStrength", bcryptStrength);
+        details.put("calibrated", calibration != null);
+        if (calibration != null) {
+            details.put("targetVerifyMillis", calibration.target().toMillis());
+            details.put("measuredVerifyMillis", calibration.measuredMillis());
+        }
+        return details;
+    }
+}
@@ -0,0 +1,50 @@
+package com.emocional.auth.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sin bloqueos implementado como GCRA (Generic Cell Rate Algorithm):
+ * todo el estado es un único long (el "theoretical arrival time") actualizado por CAS,
+ * así que cada clave ocupa unos pocos bytes y no necesita un hilo de recarga.
+ */
+public class TokenBucket {
+
+    // Nanosegundos entre dos permisos a ritmo sostenido
+    private final long emissionIntervalNanos;
+    // Margen que permite ráfagas de hasta "burst" peticiones seguidas
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalTime;
+
+    public TokenBucket(long emissionIntervalNanos, int burst, long nowNanos) {
+        this.emissionIntervalNanos = emissionIntervalNanos;
+        this.burstToleranceNanos = emissionIntervalNanos * Math.max(0, burst - 1);
+        this.theoreticalArrivalTime = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Intenta consumir un permiso.
+     * @return 0 si se admite; si no, los nanosegundos que faltan para que haya un permiso disponible.
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrivalTime.get();
+            long base = Math.max(tat, nowNanos);
+            long newTat = base + emissionIntervalNanos;
+            long allowAt = newTat - emissionIntervalNanos - burstToleranceNanos;
+            if (allowAt > nowNanos) {
+                return allowAt - nowNanos;
+            }
+            if (theoreticalArrivalTime.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Descuenta permisos ya concedidos en otra instancia, sin posibilidad de rechazo.
+     */
+    public void consume(int permits, long nowNanos) {
+        theoreticalArrivalTime.accumulateAndGet(nowNanos,
+                (tat, now) -> Math.max(tat, now) + emissionIntervalNanos * permits);
+    }
+}
@@ -1,7 +1,11 @@
 package com.emocional.auth.service;
 
 import com.emocional.auth.dto.AuthResponse;
+import com.emocional.auth.dto.IntrospectRequest;
+import com.emocional.auth.dto.IntrospectResponse;
 import com.emocional.auth.dto.LoginRequest;
+import com.emocional.auth.dto.LogoutRequest;
+import com.emocional.auth.dto.RefreshRequest;
 import com.emocional.auth.dto.RegisterRequest;
 
 /**
@@ -21,4 +25,25 @@ public interface AuthService {
      * @return El token JWT generado.
      */
     AuthResponse login(LoginRequest request);
+
+    /**
+     * Renueva el token de acceso a partir de un refresh token (que también se rota).
+     * @param request DTO con el refresh token actual.
+     * @return Nuevo token JWT y nuevo refresh token.
+     */
+    AuthResponse refresh(RefreshRequest request);
+
+    /**
+     * Revoca el token de acceso (y opcionalmente la sesión de su refresh token).
+     * @param accessToken JWT a revocar; debe ser válido.
+     * @param request DTO opcional con el refresh token de la sesión.
+     */
+    void logout(String accessToken, LogoutRequest request);
+
+    /**
+     * Indica si un token de acceso es válido: firma, expiración y que no haya sido revocado.
+     * @param request DTO con el token a inspeccionar.
+     * @return active=false si el token no es válido, o sus claims principales si lo es.
+     */
+    IntrospectResponse introspect(IntrospectRequest request);
 }
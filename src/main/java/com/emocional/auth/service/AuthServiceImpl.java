@@ -1,17 +1,34 @@
 package com.emocional.auth.service;
 
 import com.emocional.auth.dto.AuthResponse;
+import com.emocional.auth.dto.IntrospectRequest;
+import com.emocional.auth.dto.IntrospectResponse;
 import com.emocional.auth.dto.LoginRequest;
+import com.emocional.auth.dto.LogoutRequest;
+import com.emocional.auth.dto.RefreshRequest;
 import com.emocional.auth.dto.RegisterRequest;
+import com.emocional.auth.exception.BreachedPasswordException;
+import com.emocional.auth.exception.DuplicateEmailException;
 import com.emocional.auth.model.User;
 import com.emocional.auth.repository.UserRepository;
+import com.emocional.auth.security.LatencyEqualizer;
+import com.emocional.auth.util.AuthMetrics;
 import com.emocional.auth.util.JwtUtil; // <-- CORRECCIÓN: Usando la clase de utilidad existente
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.time.LocalDateTime;
 
@@ -22,52 +39,207 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
 
+    // Parte del User-Agent que identifica al cliente en las claves de caché
+    private static final int MAX_USER_AGENT = 512;
+
     private final UserRepository userRepository;
+    private final UserLookupService userLookupService;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil; // <-- CORRECCIÓN: Inyectando JwtUtil
     private final AuthenticationManager authenticationManager;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final IssuedTokenCache issuedTokenCache;
+    private final AuthMetrics authMetrics;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final LatencyEqualizer latencyEqualizer;
+    private final LoginCoalescer loginCoalescer;
+    private final LoginAuditService loginAuditService;
+    private final BreachedPasswordService breachedPasswordService;
 
     /**
      * Registra un nuevo usuario en la base de datos y genera un token JWT.
+     * Se hace un único INSERT y la restricción UNIQUE de email detecta los duplicados,
+     * incluso cuando dos registros concurrentes compiten por el mismo email.
+     * Las contraseñas que aparecen en filtraciones conocidas se rechazan con 400.
      */
     @Override
     public AuthResponse register(RegisterRequest request) {
-        if (userRepository.findByEmail(request.getEmail()).isPresent()) {
-            throw new IllegalArgumentException("El email ya está en uso.");
+        // 1. Validaciones baratas antes de gastar CPU en BCrypt
+        validateRegisterRequest(request);
+        if (breachedPasswordService.isBreached(request.getPassword())) {
+            throw new BreachedPasswordException();
+        }
+        if (userLookupService.isKnownRegistered(request.getEmail())) {
+            throw new DuplicateEmailException();
         }
 
         User user = User.builder()
                 .name(request.getName())
-                .email(request.getEmail())
+                .email(UserLookupService.normalizeEmail(request.getEmail()))
                 .password(passwordEncoder.encode(request.getPassword()))
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        userRepository.save(user);
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException ex) {
+            throw new DuplicateEmailException();
+        } finally {
+            // La caché pudo haber guardado este email como inexistente
+            userLookupService.evict(user.getEmail());
+        }
+        registeredEmailFilter.add(user.getEmail());
 
-        String jwt = jwtUtil.generateToken(user);
-        return new AuthResponse(jwt);
+        return issueTokens(user);
     }
 
     /**
      * Autentica al usuario y genera un token JWT.
+     * El resultado (éxito o motivo del fallo) se audita de forma asíncrona.
      */
     @Override
     public AuthResponse login(LoginRequest request) {
-        // 1. Autenticar usando el AuthenticationManager
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail(),
-                        request.getPassword()
-                )
-        );
-
-        // 2. Si la autenticación es exitosa, recuperar el objeto User para generar el token.
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado"));
-
-        // 3. Generar y retornar el JWT
+        LoginCoalescer.Authenticated authenticated;
+        try {
+            authenticated = authenticateLogin(request);
+        } catch (RuntimeException ex) {
+            loginAuditService.record(request.getEmail(), null, AuthMetrics.outcomeOf(ex));
+            throw ex;
+        }
+        loginAuditService.record(request.getEmail(), authenticated.user().getId(), AuthMetrics.SUCCESS);
+
+        // Un refresh token nuevo por petición: cada cliente rota su propia sesión
+        return new AuthResponse(authenticated.accessToken(), refreshTokenService.issue(authenticated.user()));
+    }
+
+    /**
+     * Rota el refresh token y emite un nuevo JWT. No hay verificación BCrypt:
+     * basta un SELECT indexado por hash y la firma HMAC del nuevo token.
+     */
+    @Override
+    public AuthResponse refresh(RefreshRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        String jwt = jwtUtil.generateToken(rotation.user());
+        return new AuthResponse(jwt, rotation.refreshToken());
+    }
+
+    /**
+     * Revoca el JWT por su jti hasta que expire y, si se envía, la sesión del refresh token.
+     */
+    @Override
+    public void logout(String accessToken, LogoutRequest request) {
+        Claims claims = jwtUtil.extractAllClaims(accessToken);
+        if (claims.getId() != null) {
+            tokenRevocationService.revoke(claims.getId(), claims.getExpiration().toInstant());
+        }
+        // Tras el logout el siguiente login debe recibir un token distinto
+        issuedTokenCache.invalidate(claims.get("userId", Long.class));
+        if (request != null && StringUtils.hasText(request.getRefreshToken())) {
+            refreshTokenService.revokeFamilyOf(request.getRefreshToken());
+        }
+    }
+
+    /**
+     * Validación local del token: firma HMAC con el parser cacheado y consulta de revocación
+     * en memoria. No hay acceso a base de datos.
+     */
+    @Override
+    public IntrospectResponse introspect(IntrospectRequest request) {
+        if (request == null || !StringUtils.hasText(request.getToken())) {
+            return IntrospectResponse.inactive();
+        }
+        Claims claims;
+        try {
+            claims = jwtUtil.extractAllClaims(request.getToken());
+        } catch (JwtException | IllegalArgumentException ex) {
+            return IntrospectResponse.inactive();
+        }
+        if (tokenRevocationService.isRevoked(claims.getId())) {
+            return IntrospectResponse.inactive();
+        }
+        return IntrospectResponse.builder()
+                .active(true)
+                .sub(claims.getSubject())
+                .userId(claims.get("userId", Long.class))
+                .exp(claims.getExpiration().toInstant().getEpochSecond())
+                .jti(claims.getId())
+                .build();
+    }
+
+    private LoginCoalescer.Authenticated authenticateLogin(LoginRequest request) {
+        // 1. Email que seguro no está registrado: sin consulta ni BCrypt (ni el BCrypt ficticio de
+        //    DaoAuthenticationProvider). Se espera una latencia real muestreada para no revelar
+        //    que la cuenta no existe, y se responde igual que a una contraseña incorrecta.
+        if (!registeredEmailFilter.mightBeRegistered(request.getEmail())) {
+            latencyEqualizer.await();
+            throw new BadCredentialsException("Bad credentials");
+        }
+
+        // 2. Las peticiones idénticas simultáneas del mismo cliente (reintentos) comparten una sola
+        //    verificación y un solo JWT
+        String client = currentClient();
+        return loginCoalescer.authenticate(request.getEmail(), request.getPassword(), client, () -> {
+            User user = authenticate(request);
+            // JWT (reutilizado si el mismo usuario acaba de iniciar sesión desde el mismo cliente)
+            return new LoginCoalescer.Authenticated(user, issuedTokenCache.tokenFor(user, client));
+        });
+    }
+
+    /**
+     * Carga del usuario y verificación BCrypt mediante el AuthenticationManager.
+     * El principal autenticado ya es la entidad User cargada por CustomUserDetailsService,
+     * así que se reutiliza en lugar de volver a consultar la base de datos.
+     */
+    private User authenticate(LoginRequest request) {
+        long start = System.nanoTime();
+        Authentication authentication;
+        try {
+            authentication = authMetrics.record("auth.authenticate", "login",
+                    () -> authenticationManager.authenticate(
+                            new UsernamePasswordAuthenticationToken(
+                                    request.getEmail(),
+                                    request.getPassword()
+                            )
+                    ));
+        } catch (BadCredentialsException ex) {
+            latencyEqualizer.record(System.nanoTime() - start);
+            throw ex;
+        }
+        // Solo verificaciones completas: los 503 por saturación no son una latencia de referencia
+        latencyEqualizer.record(System.nanoTime() - start);
+        return (User) authentication.getPrincipal();
+    }
+
+    /**
+     * Identidad del cliente de la petición HTTP en curso (IP y User-Agent), o null fuera de una petición.
+     * Acota qué logins pueden compartir un mismo JWT: el logout revoca su jti y no debe cerrar la sesión
+     * de otros dispositivos.
+     */
+    private static String currentClient() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            String userAgent = request.getHeader(HttpHeaders.USER_AGENT);
+            return request.getRemoteAddr() + " "
+                    + (userAgent == null ? "" : userAgent.substring(0, Math.min(userAgent.length(), MAX_USER_AGENT)));
+        }
+        return null;
+    }
+
+    private AuthResponse issueTokens(User user) {
         String jwt = jwtUtil.generateToken(user);
-        return new AuthResponse(jwt);
+        return new AuthResponse(jwt, refreshTokenService.issue(user));
+    }
+
+    private void validateRegisterRequest(RegisterRequest request) {
+        if (!StringUtils.hasText(request.getName())) {
+            throw new IllegalArgumentException("El nombre es obligatorio.");
+        }
+        if (!StringUtils.hasText(request.getEmail())) {
+            throw new IllegalArgumentException("El email es obligatorio.");
+        }
+        if (!StringUtils.hasText(request.getPassword())) {
+            throw new IllegalArgumentException("La contraseña es obligatoria.");
+        }
     }
 }
@@ -0,0 +1,107 @@
+package com.emocional.auth.service;
+
+import com.emocional.auth.security.BreachedPasswordIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Comprueba las contraseñas nuevas contra un índice local de hashes filtrados (BreachedPasswordIndex),
+ * sin llamar a ninguna API externa ni enviar la contraseña (ni un prefijo de su hash) fuera del servicio.
+ * El fichero se vuelve a abrir cuando cambia su fecha de modificación o su tamaño, y el índice nuevo
+ * sustituye al anterior sin reiniciar. El fichero debe reemplazarse con un rename (como hace
+ * BreachedPasswordIndexBuilder): truncarlo o reescribirlo en el sitio mientras está proyectado
+ * puede provocar un SIGBUS en la JVM.
+ */
+@Service
+public class BreachedPasswordService {
+
+    private static final Logger log = LoggerFactory.getLogger(BreachedPasswordService.class);
+
+    private final Path file;
+
+    // null si no hay fichero configurado o aún no se ha podido abrir
+    private final AtomicReference<LoadedIndex> index = new AtomicReference<>();
+
+    private final Counter breachedCounter;
+    private final Counter cleanCounter;
+
+    public BreachedPasswordService(MeterRegistry meterRegistry,
+                                   @Value("${auth.breached-passwords.file:}") String file) {
+        this.file = StringUtils.hasText(file) ? Path.of(file) : null;
+        this.breachedCounter = checksCounter(meterRegistry, "breached");
+        this.cleanCounter = checksCounter(meterRegistry, "clean");
+        Gauge.builder("auth.breached-passwords.entries", index, ref -> {
+                    LoadedIndex loaded = ref.get();
+                    return loaded != null ? loaded.index().size() : 0;
+                })
+                .description("Hashes del índice de contraseñas filtradas cargado")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void load() {
+        reload();
+    }
+
+    /**
+     * Abre de nuevo el índice si el fichero ha cambiado. Ante un error se conserva el índice anterior.
+     */
+    @Scheduled(fixedDelayString = "${auth.breached-passwords.reload-interval:PT1M}",
+            initialDelayString = "${auth.breached-passwords.reload-interval:PT1M}")
+    public void reload() {
+        if (file == null) {
+            return;
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            LoadedIndex current = index.get();
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            if (current != null && current.lastModified() == lastModified && current.bytes() == attributes.size()) {
+                return;
+            }
+            BreachedPasswordIndex opened = BreachedPasswordIndex.open(file);
+            // La proyección anterior se libera cuando el GC recoge el índice sustituido
+            index.set(new LoadedIndex(opened, lastModified, attributes.size()));
+            log.info("Índice de contraseñas filtradas cargado: {} hashes desde {}", opened.size(), file);
+        } catch (IOException ex) {
+            log.warn("No se pudo cargar el índice de contraseñas filtradas {}: {}", file, ex.getMessage());
+        }
+    }
+
+    /**
+     * @return true si la contraseña aparece en el índice; false si no aparece o no hay índice cargado.
+     */
+    public boolean isBreached(String password) {
+        LoadedIndex current = index.get();
+        if (current == null || password == null) {
+            return false;
+        }
+        boolean breached = current.index().containsPassword(password);
+        (breached ? breachedCounter : cleanCounter).increment();
+        return breached;
+    }
+
+    private static Counter checksCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("auth.breached-passwords.checks")
+                .description("Contraseñas comprobadas contra el índice de filtraciones")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record LoadedIndex(BreachedPasswordIndex index, long lastModified, long bytes) {
+    }
+}
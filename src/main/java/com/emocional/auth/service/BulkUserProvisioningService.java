@@ -0,0 +1,420 @@
+package com.emocional.auth.service;
+
+import com.emocional.auth.dto.BulkUserResult;
+import com.emocional.auth.dto.BulkUserSummary;
+import com.emocional.auth.dto.RegisterRequest;
+import com.emocional.auth.exception.BreachedPasswordException;
+import com.emocional.auth.security.BoundedPasswordEncoder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Alta masiva de usuarios a partir de NDJSON o CSV (name,email,password).
+ * La entrada se procesa por lotes de tamaño fijo, así que la memoria no depende del tamaño del fichero:
+ * por cada lote se descartan en una sola consulta los emails ya registrados (sin gastar BCrypt en ellos),
+ * se hashean las contraseñas en paralelo en un pool propio (para no competir con los logins del pool
+ * de BoundedPasswordEncoder) y se insertan con un único INSERT multi-fila. El resultado de cada fila se
+ * escribe en la salida en cuanto termina su lote; un fallo en una fila se informa como error sin cortar la respuesta.
+ * Como en el registro individual, las contraseñas que aparecen en BreachedPasswordService se rechazan
+ * (fila inválida) antes de hashearlas.
+ * Las líneas se leen con un tope de auth.bulk.max-line-length caracteres: una línea más larga se informa
+ * como inválida y se descarta hasta el siguiente salto de línea sin acumularla en memoria.
+ */
+@Service
+public class BulkUserProvisioningService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkUserProvisioningService.class);
+
+    /**
+     * Formatos de entrada admitidos.
+     */
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private static final String EXISTING_EMAILS_SQL =
+            "SELECT lower(email) FROM app_user WHERE lower(email) IN (:emails)";
+
+    // Un solo INSERT multi-fila por lote. ON CONFLICT cubre altas concurrentes entre la consulta previa
+    // y el INSERT; las filas creadas se leen de las claves generadas (PgJDBC añade RETURNING "email"),
+    // ya que con reWriteBatchedInserts un batch JDBC no informa de qué filas se insertaron
+    private static final String INSERT_SQL = "INSERT INTO app_user (name, email, password, created_at) VALUES ";
+    private static final String INSERT_ROW_SQL = "(:name%1$d, :email%1$d, :password%1$d, :createdAt)";
+    private static final String ON_CONFLICT_SQL = " ON CONFLICT DO NOTHING";
+    private static final String[] RETURNED_COLUMNS = {"email"};
+
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final UserLookupService userLookupService;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final BreachedPasswordService breachedPasswordService;
+    private final PasswordEncoder hashingEncoder;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService hashingExecutor;
+    private final int batchSize;
+    private final int maxLineLength;
+
+    private final Counter createdCounter;
+    private final Counter duplicateCounter;
+    private final Counter invalidCounter;
+    private final Counter errorCounter;
+
+    public BulkUserProvisioningService(NamedParameterJdbcTemplate jdbcTemplate,
+                                       UserLookupService userLookupService,
+                                       RegisteredEmailFilter registeredEmailFilter,
+                                       BreachedPasswordService breachedPasswordService,
+                                       PasswordEncoder passwordEncoder,
+                                       ObjectMapper objectMapper,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${auth.bulk.batch-size:500}") int batchSize,
+                                       @Value("${auth.bulk.hashing-threads:0}") int hashingThreads,
+                                       @Value("${auth.bulk.max-line-length:4096}") int maxLineLength) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userLookupService = userLookupService;
+        this.registeredEmailFilter = registeredEmailFilter;
+        this.breachedPasswordService = breachedPasswordService;
+        // Encodificador sin la cola acotada del login: el paralelismo lo gestiona este servicio
+        this.hashingEncoder = passwordEncoder instanceof BoundedPasswordEncoder bounded
+                ? bounded.getDelegate()
+                : passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxLineLength = maxLineLength;
+
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.hashingExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.createdCounter = statusCounter(meterRegistry, BulkUserResult.CREATED);
+        this.duplicateCounter = statusCounter(meterRegistry, BulkUserResult.DUPLICATE);
+        this.invalidCounter = statusCounter(meterRegistry, BulkUserResult.INVALID);
+        this.errorCounter = statusCounter(meterRegistry, BulkUserResult.ERROR);
+    }
+
+    /**
+     * Procesa la entrada completa escribiendo una línea NDJSON (BulkUserResult) por fila
+     * y, al final, una línea con los totales (BulkUserSummary).
+     */
+    public BulkUserSummary provision(InputStream input, Format format, OutputStream output) throws IOException {
+        BulkUserSummary summary = new BulkUserSummary();
+        LineReader reader = new LineReader(
+                new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)), maxLineLength);
+        List<Row> batch = new ArrayList<>(batchSize);
+
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (reader.isTooLong()) {
+                batch.add(Row.invalid(lineNumber, null,
+                        "La fila supera el máximo de " + maxLineLength + " caracteres."));
+            } else if (!StringUtils.hasText(line) || (format == Format.CSV && lineNumber == 1 && isCsvHeader(line))) {
+                continue;
+            } else {
+                batch.add(parse(line, lineNumber, format));
+            }
+            if (batch.size() == batchSize) {
+                processBatch(batch, summary, output);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            processBatch(batch, summary, output);
+        }
+        write(output, summary);
+        output.flush();
+        return summary;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingExecutor.shutdown();
+    }
+
+    private void processBatch(List<Row> batch, BulkUserSummary summary, OutputStream output) throws IOException {
+        // 1. Duplicados dentro del propio lote y emails ya registrados: sin hashing
+        Set<String> emails = new HashSet<>();
+        for (Row row : batch) {
+            if (row.result.getStatus() == null) {
+                if (!emails.add(row.email)) {
+                    row.result.setStatus(BulkUserResult.DUPLICATE);
+                }
+            }
+        }
+        if (!emails.isEmpty()) {
+            Set<String> existing = new HashSet<>(jdbcTemplate.queryForList(
+                    EXISTING_EMAILS_SQL, new MapSqlParameterSource("emails", emails), String.class));
+            for (Row row : batch) {
+                if (row.result.getStatus() == null && existing.contains(row.email)) {
+                    row.result.setStatus(BulkUserResult.DUPLICATE);
+                }
+            }
+        }
+
+        // 2. Hashing en paralelo de las filas restantes
+        List<Row> pending = batch.stream().filter(row -> row.result.getStatus() == null).toList();
+        List<CompletableFuture<String>> hashes = pending.stream()
+                .map(row -> CompletableFuture.supplyAsync(() -> hashingEncoder.encode(row.password), hashingExecutor))
+                .toList();
+
+        // 3. Un INSERT multi-fila con las filas cuyo hash se pudo calcular
+        List<Row> hashed = new ArrayList<>(pending.size());
+        MapSqlParameterSource params = new MapSqlParameterSource("createdAt", Timestamp.valueOf(LocalDateTime.now()));
+        StringBuilder sql = new StringBuilder(INSERT_SQL);
+        for (int i = 0; i < pending.size(); i++) {
+            Row row = pending.get(i);
+            String hash;
+            try {
+                hash = hashes.get(i).join();
+            } catch (CompletionException | CancellationException ex) {
+                // Un fallo de hashing no debe cortar la respuesta que ya se está enviando
+                log.warn("No se pudo hashear la contraseña de la línea {}", row.result.getLine(), ex);
+                row.result.setStatus(BulkUserResult.ERROR);
+                row.result.setMessage("No se pudo procesar la contraseña.");
+                continue;
+            }
+            int index = hashed.size();
+            sql.append(index == 0 ? "" : ", ").append(String.format(INSERT_ROW_SQL, index));
+            params.addValue("name" + index, row.name)
+                    .addValue("email" + index, row.email)
+                    .addValue("password" + index, hash);
+            hashed.add(row);
+        }
+        if (!hashed.isEmpty()) {
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.update(sql.append(ON_CONFLICT_SQL).toString(), params, keys, RETURNED_COLUMNS);
+            Set<String> created = new HashSet<>();
+            for (Map<String, Object> key : keys.getKeyList()) {
+                created.add((String) key.values().iterator().next());
+            }
+            for (Row row : hashed) {
+                // Las que no devuelve el INSERT las creó otra alta concurrente
+                boolean isNew = created.contains(row.email);
+                row.result.setStatus(isNew ? BulkUserResult.CREATED : BulkUserResult.DUPLICATE);
+                if (isNew) {
+                    // La caché pudo haber guardado este email como inexistente
+                    userLookupService.evict(row.email);
+                    registeredEmailFilter.add(row.email);
+                }
+            }
+        }
+
+        for (Row row : batch) {
+            switch (row.result.getStatus()) {
+                case BulkUserResult.CREATED -> {
+                    summary.setCreated(summary.getCreated() + 1);
+                    createdCounter.increment();
+                }
+                case BulkUserResult.DUPLICATE -> {
+                    summary.setDuplicates(summary.getDuplicates() + 1);
+                    duplicateCounter.increment();
+                }
+                case BulkUserResult.ERROR -> {
+                    summary.setErrors(summary.getErrors() + 1);
+                    errorCounter.increment();
+                }
+                default -> {
+                    summary.setInvalid(summary.getInvalid() + 1);
+                    invalidCounter.increment();
+                }
+            }
+            write(output, row.result);
+        }
+        output.flush();
+    }
+
+    private Row parse(String line, long lineNumber, Format format) {
+        RegisterRequest request;
+        try {
+            request = format == Format.NDJSON
+                    ? objectMapper.readValue(line, RegisterRequest.class)
+                    : fromCsv(line);
+        } catch (JsonProcessingException | IllegalArgumentException ex) {
+            return Row.invalid(lineNumber, null, "Fila con formato inválido.");
+        }
+        if (!StringUtils.hasText(request.getName())) {
+            return Row.invalid(lineNumber, request.getEmail(), "El nombre es obligatorio.");
+        }
+        if (!StringUtils.hasText(request.getEmail()) || !request.getEmail().contains("@")) {
+            return Row.invalid(lineNumber, request.getEmail(), "El email es obligatorio.");
+        }
+        if (!StringUtils.hasText(request.getPassword())) {
+            return Row.invalid(lineNumber, request.getEmail(), "La contraseña es obligatoria.");
+        }
+        if (breachedPasswordService.isBreached(request.getPassword())) {
+            return Row.invalid(lineNumber, request.getEmail(), BreachedPasswordException.MESSAGE);
+        }
+        return new Row(lineNumber, request.getName().trim(), UserLookupService.normalizeEmail(request.getEmail()),
+                request.getPassword());
+    }
+
+    private static boolean isCsvHeader(String line) {
+        return line.trim().toLowerCase(Locale.ROOT).startsWith("name,");
+    }
+
+    // CSV de una línea por registro: name,email,password con comillas dobles opcionales ("" escapa una comilla)
+    private static RegisterRequest fromCsv(String line) {
+        List<String> fields = new ArrayList<>(3);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        if (quoted || fields.size() != 3) {
+            throw new IllegalArgumentException("Se esperaban 3 columnas: name,email,password");
+        }
+        RegisterRequest request = new RegisterRequest();
+        request.setName(fields.get(0));
+        request.setEmail(fields.get(1).trim());
+        request.setPassword(fields.get(2));
+        return request;
+    }
+
+    private void write(OutputStream output, Object value) throws IOException {
+        output.write(objectMapper.writeValueAsBytes(value));
+        output.write(NEWLINE);
+    }
+
+    private static Counter statusCounter(MeterRegistry meterRegistry, String status) {
+        return Counter.builder("auth.bulk.users")
+                .description("Filas procesadas por el alta masiva")
+                .tag("status", status)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Lectura línea a línea con longitud máxima: a diferencia de BufferedReader.readLine, una línea
+     * sin fin (un fichero de varios GB sin saltos de línea) no se acumula entera en el heap.
+     */
+    private static final class LineReader {
+
+        private final Reader reader;
+        private final int maxLength;
+        private final StringBuilder line = new StringBuilder();
+        private boolean tooLong;
+
+        LineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * @return la línea sin el salto final (vacía si superaba el máximo, ver isTooLong), o null al final.
+         */
+        String readLine() throws IOException {
+            line.setLength(0);
+            tooLong = false;
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            while (c != -1 && c != '\n') {
+                // Un carácter de margen para el '\r' de los finales de línea CRLF
+                if (line.length() <= maxLength) {
+                    line.append((char) c);
+                } else {
+                    tooLong = true;
+                }
+                c = reader.read();
+            }
+            if (!line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+                line.setLength(line.length() - 1);
+            }
+            if (tooLong || line.length() > maxLength) {
+                tooLong = true;
+                return "";
+            }
+            return line.toString();
+        }
+
+        /**
+         * @return true si la última línea leída superaba el máximo y se ha descartado.
+         */
+        boolean isTooLong() {
+            return tooLong;
+        }
+    }
+
+    /**
+     * Fila del lote en curso; la contraseña en claro solo vive hasta que termina el lote.
+     */
+    private static final class Row {
+
+        private final String name;
+        private final String email;
+        private final String password;
+        private final BulkUserResult result;
+
+        Row(long line, String name, String email, String password) {
+            this.name = name;
+            this.email = email;
+            this.password = password;
+            this.result = new BulkUserResult(line, email, null, null);
+        }
+
+        static Row invalid(long line, String email, String message) {
+            Row row = new Row(line, null, email, null);
+            row.result.setStatus(BulkUserResult.INVALID);
+            row.result.setMessage(message);
+            return row;
+        }
+    }
+}
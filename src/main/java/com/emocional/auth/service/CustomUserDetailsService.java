@@ -1,25 +1,54 @@
 package com.emocional.auth.service;
 
+import com.emocional.auth.model.User;
 import com.emocional.auth.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 /**
  * Servicio requerido por Spring Security para cargar los detalles del usuario durante el login.
+ * También guarda los hashes migrados (algoritmo o coste nuevo) tras un login correcto.
  */
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
+    private final UserLookupService userLookupService;
     private final UserRepository userRepository;
+    private final IssuedTokenCache issuedTokenCache;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        // Se carga la entidad User, que implementa UserDetails.
-        return userRepository.findByEmail(email)
+        // Se carga la entidad User, que implementa UserDetails (pasando por la caché si está activa).
+        return userLookupService.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado con email: " + email));
     }
+
+    /**
+     * Llamado por DaoAuthenticationProvider cuando el hash almacenado necesita actualizarse.
+     * Es un cambio de contraseña a efectos de caché, así que se invalidan la entrada del usuario
+     * y su token en caché.
+     * userDetails es la instancia compartida de la caché: no se modifica (otros hilos la verían a medias
+     * antes del evict). Se escribe el hash con un UPDATE y se devuelve una copia.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User cached = (User) userDetails;
+        User updated = User.builder()
+                .id(cached.getId())
+                .name(cached.getName())
+                .email(cached.getEmail())
+                .password(newPassword)
+                .createdAt(cached.getCreatedAt())
+                .lastLoginAt(cached.getLastLoginAt())
+                .build();
+        userRepository.updatePassword(updated.getId(), newPassword);
+        userLookupService.evict(updated.getEmail());
+        issuedTokenCache.invalidate(updated.getId());
+        return updated;
+    }
 }
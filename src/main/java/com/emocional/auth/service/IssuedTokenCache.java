@@ -0,0 +1,151 @@
+package com.emocional.auth.service;
+
+import com.emocional.auth.cluster.ClusterBus;
+import com.emocional.auth.model.User;
+import com.emocional.auth.util.JwtUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Caché opcional de tokens de acceso recién emitidos, por usuario y cliente.
+ * Los logins repetidos del mismo cliente dentro de la ventana (reintentos, varias pestañas) reutilizan
+ * el mismo JWT en lugar de firmar otro, siempre que sus claims (email, nombre) no hayan cambiado, no esté
+ * revocado y le quede vida suficiente. Cada login sigue recibiendo su propio refresh token.
+ * El cliente (IP y User-Agent) forma parte de la clave: dos dispositivos nunca comparten jti, así que el
+ * logout de uno, que revoca ese jti, no cierra la sesión del otro.
+ * Se invalida al cambiar la contraseña o el perfil y en el logout, también en las demás instancias (ClusterBus).
+ */
+@Service
+public class IssuedTokenCache {
+
+    private static final String INVALIDATE_MESSAGE = "token-cache.invalidate";
+
+    private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
+    private final Duration minRemainingLifetime;
+
+    // (userId, cliente) -> último token emitido; null si la caché está desactivada
+    private final Cache<TokenKey, CachedToken> cache;
+
+    private final Counter reusedCounter;
+    private final Counter issuedCounter;
+
+    private ClusterBus clusterBus;
+
+    public IssuedTokenCache(JwtUtil jwtUtil,
+                            TokenRevocationService tokenRevocationService,
+                            MeterRegistry meterRegistry,
+                            @Value("${auth.token-cache.enabled:false}") boolean enabled,
+                            @Value("${auth.token-cache.maximum-size:10000}") long maximumSize,
+                            @Value("${auth.token-cache.reuse-window:30s}") Duration reuseWindow,
+                            @Value("${auth.token-cache.min-remaining-lifetime:5m}") Duration minRemainingLifetime) {
+        this.jwtUtil = jwtUtil;
+        this.tokenRevocationService = tokenRevocationService;
+        this.minRemainingLifetime = minRemainingLifetime;
+        if (enabled) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfterWrite(reuseWindow)
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "issuedTokens");
+        } else {
+            this.cache = null;
+        }
+        this.reusedCounter = tokensCounter(meterRegistry, "reused");
+        this.issuedCounter = tokensCounter(meterRegistry, "issued");
+    }
+
+    @Autowired(required = false)
+    void setClusterBus(ClusterBus clusterBus) {
+        this.clusterBus = clusterBus;
+        clusterBus.subscribe(INVALIDATE_MESSAGE, userId -> {
+            if (cache != null) {
+                invalidateLocally(userId.asLong());
+            }
+        });
+        clusterBus.onResync(() -> {
+            if (cache != null) {
+                cache.invalidateAll();
+            }
+        });
+    }
+
+    /**
+     * Devuelve un token de acceso para el usuario, reutilizando el emitido recientemente para el mismo
+     * cliente si sigue siendo válido.
+     * @param client identidad del cliente que inicia sesión; null si no se conoce (solo se reutiliza entre
+     *               logins sin cliente, p. ej. fuera de una petición HTTP).
+     */
+    public String tokenFor(User user, String client) {
+        if (cache == null || user.getId() == null) {
+            return jwtUtil.generateToken(user);
+        }
+        TokenKey key = new TokenKey(user.getId(), client == null ? "" : client);
+        CachedToken cached = cache.getIfPresent(key);
+        if (cached != null && cached.isReusableFor(user, Instant.now().plus(minRemainingLifetime))
+                && !tokenRevocationService.isRevoked(cached.token().jti())) {
+            reusedCounter.increment();
+            return cached.token().token();
+        }
+        // compute: los logins concurrentes del mismo usuario y cliente firman un solo token
+        return cache.asMap().compute(key, (k, current) -> {
+            if (current != null && current != cached
+                    && current.isReusableFor(user, Instant.now().plus(minRemainingLifetime))) {
+                reusedCounter.increment();
+                return current;
+            }
+            issuedCounter.increment();
+            return new CachedToken(user.getEmail(), user.getName(), jwtUtil.issueToken(user));
+        }).token().token();
+    }
+
+    /**
+     * Descarta los tokens en caché de un usuario en todos sus clientes (cambio de contraseña o de perfil, logout).
+     */
+    public void invalidate(Long userId) {
+        if (cache != null && userId != null) {
+            invalidateLocally(userId);
+            if (clusterBus != null) {
+                clusterBus.publish(INVALIDATE_MESSAGE, userId);
+            }
+        }
+    }
+
+    // Recorre las claves: la caché está acotada (maximum-size) y solo guarda la ventana de reutilización
+    private void invalidateLocally(long userId) {
+        cache.asMap().keySet().removeIf(key -> key.userId() == userId);
+    }
+
+    private static Counter tokensCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("auth.token-cache.tokens")
+                .description("Tokens de acceso entregados en el login, reutilizados o firmados de nuevo")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record TokenKey(long userId, String client) {
+    }
+
+    /**
+     * Token emitido junto con los claims de perfil con los que se firmó.
+     */
+    private record CachedToken(String email, String fullName, JwtUtil.IssuedToken token) {
+
+        boolean isReusableFor(User user, Instant minExpiresAt) {
+            return Objects.equals(email, user.getEmail())
+                    && Objects.equals(fullName, user.getName())
+                    && token.expiresAt().isAfter(minExpiresAt);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.emocional.auth.service;
+
+import com.emocional.auth.util.MpscRingBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Auditoría de logins fuera del camino de la petición.
+ * AuthServiceImpl.login solo encola el evento en un MpscRingBuffer acotado (sin bloqueos ni I/O);
+ * un hilo propio lo vacía por lotes: un INSERT por lotes en login_audit y un único UPDATE de
+ * last_login_at por usuario y lote, en una transacción. Si el buffer está lleno el evento se descarta
+ * y se cuenta (auth.audit.events{result=dropped}): la auditoría nunca frena los logins.
+ */
+@Service
+public class LoginAuditService {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginAuditService.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO login_audit (occurred_at, user_id, email, outcome, ip, user_agent) "
+                    + "VALUES (:occurredAt, :userId, :email, :outcome, :ip, :userAgent)";
+
+    // Nunca retrocede: con varias instancias los lotes pueden llegar desordenados
+    private static final String LAST_LOGIN_SQL =
+            "UPDATE app_user SET last_login_at = :lastLoginAt "
+                    + "WHERE id = :userId AND (last_login_at IS NULL OR last_login_at < :lastLoginAt)";
+
+    private static final int MAX_USER_AGENT = 512;
+    private static final int MAX_EMAIL = 255;
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final boolean partitionMaintenance;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final MpscRingBuffer<LoginAuditEvent> buffer;
+
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public LoginAuditService(NamedParameterJdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${auth.audit.enabled:true}") boolean enabled,
+                             @Value("${auth.audit.buffer-size:8192}") int bufferSize,
+                             @Value("${auth.audit.batch-size:500}") int batchSize,
+                             @Value("${auth.audit.flush-interval:200ms}") Duration flushInterval,
+                             @Value("${auth.audit.partition-maintenance:false}") boolean partitionMaintenance) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.partitionMaintenance = partitionMaintenance;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.buffer = new MpscRingBuffer<>(bufferSize);
+
+        Gauge.builder("auth.audit.buffer.size", buffer, MpscRingBuffer::size)
+                .description("Eventos de auditoría pendientes de escribir")
+                .register(meterRegistry);
+        this.writtenCounter = eventsCounter(meterRegistry, "written");
+        this.droppedCounter = eventsCounter(meterRegistry, "dropped");
+        this.failedCounter = eventsCounter(meterRegistry, "failed");
+    }
+
+    @PostConstruct
+    void start() {
+        if (enabled) {
+            running = true;
+            writer = new Thread(this::writeLoop, "login-audit-writer");
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    /**
+     * Encola el resultado de un login. La IP y el User-Agent se toman de la petición HTTP en curso, si la hay.
+     * @param userId null si el login falló.
+     */
+    public void record(String email, Long userId, String outcome) {
+        if (!enabled) {
+            return;
+        }
+        String ip = null;
+        String userAgent = null;
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            ip = request.getRemoteAddr();
+            userAgent = truncate(request.getHeader(HttpHeaders.USER_AGENT), MAX_USER_AGENT);
+        }
+        LoginAuditEvent event = new LoginAuditEvent(Instant.now(), userId, truncate(email, MAX_EMAIL), outcome, ip, userAgent);
+        if (!buffer.offer(event)) {
+            droppedCounter.increment();
+        }
+    }
+
+    /**
+     * Crea por adelantado las particiones mensuales de login_audit (mes actual y siguiente),
+     * para que las filas no acaben en la partición DEFAULT. Solo PostgreSQL con V3 aplicada.
+     */
+    @Scheduled(fixedDelayString = "${auth.audit.partition-check-interval:PT12H}")
+    public void ensurePartitions() {
+        if (!enabled || !partitionMaintenance) {
+            return;
+        }
+        LocalDate month = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+        JdbcTemplate jdbc = jdbcTemplate.getJdbcTemplate();
+        for (int i = 0; i < 2; i++) {
+            LocalDate from = month.plusMonths(i);
+            LocalDate to = from.plusMonths(1);
+            jdbc.execute("CREATE TABLE IF NOT EXISTS login_audit_" + from.format(PARTITION_SUFFIX)
+                    + " PARTITION OF login_audit FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (running) {
+            running = false;
+            LockSupport.unpark(writer);
+            writer.join(Duration.ofSeconds(10).toMillis());
+        }
+    }
+
+    private void writeLoop() {
+        List<LoginAuditEvent> batch = new ArrayList<>(batchSize);
+        while (running || buffer.size() > 0) {
+            buffer.drain(batch::add, batchSize);
+            if (batch.isEmpty()) {
+                if (!running) {
+                    return;
+                }
+                LockSupport.parkNanos(flushIntervalNanos);
+                continue;
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<LoginAuditEvent> batch) {
+        MapSqlParameterSource[] inserts = new MapSqlParameterSource[batch.size()];
+        // Varios logins del mismo usuario en el lote: un solo UPDATE con el más reciente
+        Map<Long, Instant> lastLogins = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            LoginAuditEvent event = batch.get(i);
+            inserts[i] = new MapSqlParameterSource()
+                    .addValue("occurredAt", Timestamp.from(event.occurredAt()))
+                    .addValue("userId", event.userId())
+                    .addValue("email", event.email())
+                    .addValue("outcome", event.outcome())
+                    .addValue("ip", event.ip())
+                    .addValue("userAgent", event.userAgent());
+            if (event.userId() != null) {
+                lastLogins.merge(event.userId(), event.occurredAt(), (a, b) -> a.isAfter(b) ? a : b);
+            }
+        }
+        MapSqlParameterSource[] updates = lastLogins.entrySet().stream()
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("userId", entry.getKey())
+                        // last_login_at es TIMESTAMP sin zona, como created_at
+                        .addValue("lastLoginAt", Timestamp.valueOf(
+                                entry.getValue().atZone(ZoneId.systemDefault()).toLocalDateTime())))
+                .toArray(MapSqlParameterSource[]::new);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+                if (updates.length > 0) {
+                    jdbcTemplate.batchUpdate(LAST_LOGIN_SQL, updates);
+                }
+            });
+            writtenCounter.increment(batch.size());
+        } catch (RuntimeException ex) {
+            failedCounter.increment(batch.size());
+            log.warn("No se pudo escribir un lote de {} eventos de auditoría: {}", batch.size(), ex.getMessage());
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    private static Counter eventsCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("auth.audit.events")
+                .description("Eventos de auditoría de login por resultado: escritos, descartados o fallidos")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record LoginAuditEvent(Instant occurredAt, Long userId, String email, String outcome,
+                                   String ip, String userAgent) {
+    }
+}
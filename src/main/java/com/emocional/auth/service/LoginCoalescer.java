@@ -0,0 +1,192 @@
+package com.emocional.auth.service;
+
+import com.emocional.auth.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa los logins simultáneos de la misma cuenta con la misma contraseña (reintentos de clientes móviles):
+ * el primero ejecuta la verificación BCrypt y firma el JWT; los que llegan mientras tanto esperan su resultado
+ * (o su excepción) en lugar de repetir el trabajo. Cada uno sigue recibiendo su propio refresh token.
+ * La clave es el email normalizado más un HMAC-SHA256 de la contraseña con una sal aleatoria del proceso
+ * y el cliente que inicia sesión: solo comparten resultado (y JWT) peticiones del mismo cliente con las
+ * mismas credenciales, y la contraseña en claro no se guarda.
+ * Solo hay entradas mientras la verificación está en curso y su número está acotado (max-in-flight);
+ * por encima se verifica sin agrupar. Los que esperan lo hacen como mucho wait-timeout y después
+ * verifican por su cuenta.
+ */
+@Service
+public class LoginCoalescer {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final boolean enabled;
+    private final int maxInFlight;
+    private final Duration waitTimeout;
+    private final SecretKeySpec fingerprintKey;
+
+    private final ConcurrentHashMap<LoginKey, Flight> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter leaderCounter;
+    private final Counter coalescedCounter;
+    private final Counter bypassedCounter;
+    private final Counter timedOutCounter;
+    private final Counter savedSecondsCounter;
+
+    public LoginCoalescer(MeterRegistry meterRegistry,
+                          @Value("${auth.login-coalescing.enabled:true}") boolean enabled,
+                          @Value("${auth.login-coalescing.max-in-flight:10000}") int maxInFlight,
+                          @Value("${auth.login-coalescing.wait-timeout:10s}") Duration waitTimeout) {
+        this.enabled = enabled;
+        this.maxInFlight = maxInFlight;
+        this.waitTimeout = waitTimeout;
+        byte[] salt = new byte[32];
+        new SecureRandom().nextBytes(salt);
+        this.fingerprintKey = new SecretKeySpec(salt, HMAC_ALGORITHM);
+
+        this.leaderCounter = loginsCounter(meterRegistry, "verified");
+        this.coalescedCounter = loginsCounter(meterRegistry, "coalesced");
+        this.bypassedCounter = loginsCounter(meterRegistry, "bypassed");
+        this.timedOutCounter = loginsCounter(meterRegistry, "timed_out");
+        this.savedSecondsCounter = Counter.builder("auth.login.coalescing.saved")
+                .description("Tiempo de verificación (BCrypt y firma) ahorrado por los logins agrupados")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ejecuta la autenticación o, si ya hay una en curso con las mismas credenciales y el mismo cliente,
+     * espera a su resultado.
+     * @param client identidad del cliente (IP y User-Agent); null si no se conoce.
+     */
+    public Authenticated authenticate(String email, CharSequence password, String client,
+                                      Supplier<Authenticated> authentication) {
+        if (!enabled || email == null || password == null) {
+            return authentication.get();
+        }
+        if (inFlight.size() >= maxInFlight) {
+            bypassedCounter.increment();
+            return authentication.get();
+        }
+
+        LoginKey key = new LoginKey(UserLookupService.normalizeEmail(email), fingerprint(password),
+                client == null ? "" : client);
+        Flight own = new Flight();
+        Flight existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            coalescedCounter.increment();
+            return await(existing, authentication);
+        }
+
+        leaderCounter.increment();
+        long start = System.nanoTime();
+        Authenticated authenticated = null;
+        Throwable failure = null;
+        try {
+            authenticated = authentication.get();
+            return authenticated;
+        } catch (Throwable ex) {
+            // Las mismas credenciales fallarían igual: los que esperan reciben la misma excepción
+            failure = ex;
+            throw ex;
+        } finally {
+            // También ante un Error: una entrada sin completar bloquearía a todos los logins con estas credenciales
+            CompletableFuture<Authenticated> result = complete(key, own, start);
+            if (failure == null) {
+                result.complete(authenticated);
+            } else {
+                result.completeExceptionally(failure);
+            }
+        }
+    }
+
+    private Authenticated await(Flight flight, Supplier<Authenticated> authentication) {
+        try {
+            Authenticated authenticated = flight.result.get(waitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            recordSaved(flight);
+            return authenticated;
+        } catch (ExecutionException ex) {
+            recordSaved(flight);
+            Throwable cause = ex.getCause();
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw cause instanceof RuntimeException runtime ? runtime : new CompletionException(cause);
+        } catch (TimeoutException ex) {
+            timedOutCounter.increment();
+            return authentication.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Login interrumpido mientras esperaba una verificación en curso", ex);
+        }
+    }
+
+    private void recordSaved(Flight flight) {
+        savedSecondsCounter.increment(flight.durationNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    // Se retira la entrada antes de publicar el resultado: solo se agrupan verificaciones en curso
+    private CompletableFuture<Authenticated> complete(LoginKey key, Flight flight, long start) {
+        flight.durationNanos = System.nanoTime() - start;
+        inFlight.remove(key, flight);
+        return flight.result;
+    }
+
+    private String fingerprint(CharSequence password) {
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(CharBuffer.wrap(password));
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(fingerprintKey);
+            mac.update(bytes);
+            return Base64.getEncoder().encodeToString(mac.doFinal());
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HMAC-SHA256 no disponible", ex);
+        } finally {
+            if (bytes.hasArray()) {
+                Arrays.fill(bytes.array(), (byte) 0);
+            }
+        }
+    }
+
+    private static Counter loginsCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("auth.login.coalescing")
+                .description("Logins por resultado del agrupamiento: verificados, agrupados, sin agrupar por límite o tras agotar la espera")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Resultado compartido entre los logins agrupados.
+     */
+    public record Authenticated(User user, String accessToken) {
+    }
+
+    private record LoginKey(String email, String passwordFingerprint, String client) {
+    }
+
+    private static final class Flight {
+
+        private final CompletableFuture<Authenticated> result = new CompletableFuture<>();
+        private volatile long durationNanos;
+    }
+}
@@ -0,0 +1,126 @@
+package com.emocional.auth.service;
+
+import com.emocional.auth.model.RefreshToken;
+import com.emocional.auth.model.User;
+import com.emocional.auth.repository.RefreshTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Emisión y rotación de refresh tokens opacos.
+ * Un refresh cuesta un SELECT indexado por hash y un UPDATE condicional, sin BCrypt.
+ * Si se presenta un token ya rotado se asume robo y se revoca toda su familia.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration refreshTokenExpiration;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${jwt.refresh-token.expiration:30d}") Duration refreshTokenExpiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTokenExpiration = refreshTokenExpiration;
+    }
+
+    /**
+     * Resultado de una rotación: el usuario dueño del token y el nuevo refresh token en claro.
+     */
+    public record Rotation(User user, String refreshToken) {
+    }
+
+    /**
+     * Emite un refresh token para un nuevo inicio de sesión (nueva familia).
+     * @return El token en claro, que solo se entrega al cliente.
+     */
+    public String issue(User user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Canjea un refresh token vigente por uno nuevo de la misma familia.
+     * @throws BadCredentialsException si el token no existe, expiró o ya había sido usado.
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public Rotation rotate(String rawToken) {
+        if (!StringUtils.hasText(rawToken)) {
+            throw new BadCredentialsException("Refresh token requerido");
+        }
+        Instant now = Instant.now();
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new BadCredentialsException("Refresh token inválido"));
+
+        if (current.getRevokedAt() != null || refreshTokenRepository.markRevoked(current.getId(), now) == 0) {
+            // Reutilización de un token ya rotado: se invalida la sesión completa
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            throw new BadCredentialsException("Refresh token reutilizado");
+        }
+        if (current.getExpiresAt().isBefore(now)) {
+            throw new BadCredentialsException("Refresh token expirado");
+        }
+
+        User user = current.getUser();
+        return new Rotation(user, issue(user, current.getFamilyId()));
+    }
+
+    /**
+     * Revoca la sesión (familia) a la que pertenece un refresh token, si existe.
+     */
+    @Transactional
+    public void revokeFamilyOf(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), Instant.now()));
+    }
+
+    /**
+     * Limpieza periódica de tokens expirados para mantener la tabla y sus índices pequeños.
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh-token.cleanup-interval:PT1H}")
+    @Transactional
+    public void deleteExpired() {
+        refreshTokenRepository.deleteExpired(Instant.now());
+    }
+
+    private String issue(User user, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant now = Instant.now();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(rawToken))
+                .familyId(familyId)
+                .user(user)
+                .createdAt(now)
+                .expiresAt(now.plus(refreshTokenExpiration))
+                .build());
+        return rawToken;
+    }
+
+    // El token ya tiene 256 bits aleatorios: un SHA-256 sin sal basta y permite buscar por índice
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 no disponible", ex);
+        }
+    }
+}
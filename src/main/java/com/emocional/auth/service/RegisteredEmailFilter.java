@@ -0,0 +1,148 @@
+package com.emocional.auth.service;
+
+import com.emocional.auth.cluster.ClusterBus;
+import com.emocional.auth.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Filtro de Bloom con los emails registrados (normalizados), para rechazar sin consultar la base de datos
+ * ni ejecutar BCrypt los logins de emails que seguro no existen.
+ * Un negativo es definitivo; un positivo puede ser falso (auth.email-filter.false-positive-rate) y sigue
+ * el camino normal. Se carga al arrancar y se reconstruye periódicamente; con varias instancias,
+ * las altas de las demás llegan por ClusterBus (o, sin él, con la siguiente reconstrucción).
+ */
+@Service
+public class RegisteredEmailFilter {
+
+    private static final String EMAILS_SQL = "SELECT lower(email) FROM app_user";
+    private static final String ADD_MESSAGE = "email-filter.add";
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long expectedEmails;
+    private final double falsePositiveRate;
+
+    // null hasta completar la primera carga: mientras tanto todos los emails "pueden existir"
+    private final AtomicReference<BloomFilter> filter = new AtomicReference<>();
+    // Filtro en construcción; los registros concurrentes se añaden a ambos
+    private volatile BloomFilter building;
+
+    private final Counter rejectedCounter;
+
+    private ClusterBus clusterBus;
+
+    public RegisteredEmailFilter(DataSource dataSource,
+                                 TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${auth.email-filter.enabled:false}") boolean enabled,
+                                 @Value("${auth.email-filter.expected-entries:1000000}") long expectedEmails,
+                                 @Value("${auth.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        // JdbcTemplate propio con fetch size: la carga recorre la tabla sin materializarla en memoria
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(1000);
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.expectedEmails = expectedEmails;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rejectedCounter = Counter.builder("auth.email-filter.rejected")
+                .description("Logins rechazados por el filtro de emails sin consultar la base de datos")
+                .register(meterRegistry);
+    }
+
+    @Autowired(required = false)
+    void setClusterBus(ClusterBus clusterBus) {
+        this.clusterBus = clusterBus;
+        clusterBus.subscribe(ADD_MESSAGE, email -> addLocally(email.asText()));
+        clusterBus.onResync(this::rebuild);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Reconstruye el filtro desde app_user (recoge altas de otras instancias y respeta expected-entries).
+     * Sincronizado: una reconstrucción programada y otra por resincronización no se pisan el filtro en curso.
+     */
+    @Scheduled(fixedDelayString = "${auth.email-filter.rebuild-interval:PT15M}",
+            initialDelayString = "${auth.email-filter.rebuild-interval:PT15M}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        BloomFilter rebuilt = new BloomFilter(expectedEmails, falsePositiveRate);
+        building = rebuilt;
+        try {
+            // PostgreSQL solo usa el cursor (fetch size) dentro de una transacción
+            transactionTemplate.executeWithoutResult(status ->
+                    streamingJdbcTemplate.query(EMAILS_SQL, rs -> {
+                        rebuilt.put(rs.getString(1));
+                    }));
+            filter.set(rebuilt);
+        } finally {
+            building = null;
+        }
+    }
+
+    /**
+     * Añade un email recién registrado.
+     */
+    public void add(String email) {
+        if (!enabled) {
+            return;
+        }
+        addLocally(email);
+        if (clusterBus != null) {
+            clusterBus.publish(ADD_MESSAGE, UserLookupService.normalizeEmail(email));
+        }
+    }
+
+    private void addLocally(String email) {
+        if (!enabled) {
+            return;
+        }
+        String normalized = UserLookupService.normalizeEmail(email);
+        // Primero el filtro en construcción y después el publicado: rebuild publica el nuevo antes de
+        // limpiar building, así que si aquí se ve building == null, filter.get() ya es el nuevo.
+        // En el orden inverso el email podía acabar solo en el filtro sustituido.
+        BloomFilter inProgress = building;
+        BloomFilter current = filter.get();
+        if (inProgress != null) {
+            inProgress.put(normalized);
+        }
+        if (current != null && current != inProgress) {
+            current.put(normalized);
+        }
+    }
+
+    /**
+     * @return false solo si el email seguro que no está registrado.
+     */
+    public boolean mightBeRegistered(String email) {
+        BloomFilter current = filter.get();
+        if (!enabled || current == null || email == null) {
+            return true;
+        }
+        boolean mightContain = current.mightContain(UserLookupService.normalizeEmail(email));
+        if (!mightContain) {
+            rejectedCounter.increment();
+        }
+        return mightContain;
+    }
+}
@@ -0,0 +1,149 @@
+package com.emocional.auth.service;
+
+import com.emocional.auth.cluster.ClusterBus;
+import com.emocional.auth.model.RevokedToken;
+import com.emocional.auth.repository.RevokedTokenRepository;
+import com.emocional.auth.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Revocación de JWT por su claim jti.
+ * Las revocaciones se persisten en PostgreSQL y se mantienen en memoria en un conjunto exacto
+ * precedido de un filtro de Bloom: el caso habitual ("no revocado") se resuelve con unas pocas
+ * lecturas de bits, sin I/O. Las entradas caducan solas con el exp del token.
+ * Las revocaciones hechas en otra instancia llegan por ClusterBus.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final String REVOKED_MESSAGE = "revocation.add";
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+
+    // jti -> exp del token revocado
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private final AtomicReference<BloomFilter> filter = new AtomicReference<>();
+
+    private final Counter bloomNegatives;
+    private final Counter exactChecks;
+
+    private ClusterBus clusterBus;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${auth.revocation.expected-entries:100000}") long expectedRevocations,
+                                  @Value("${auth.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter.set(new BloomFilter(expectedRevocations, falsePositiveRate));
+
+        Gauge.builder("auth.revocation.entries", revoked, Map::size)
+                .description("Tokens revocados aún no expirados")
+                .register(meterRegistry);
+        this.bloomNegatives = Counter.builder("auth.revocation.checks")
+                .tag("path", "bloom")
+                .description("Comprobaciones resueltas solo con el filtro de Bloom")
+                .register(meterRegistry);
+        this.exactChecks = Counter.builder("auth.revocation.checks")
+                .tag("path", "exact")
+                .description("Comprobaciones que necesitaron el conjunto exacto")
+                .register(meterRegistry);
+    }
+
+    @Autowired(required = false)
+    void setClusterBus(ClusterBus clusterBus) {
+        this.clusterBus = clusterBus;
+        clusterBus.subscribe(REVOKED_MESSAGE, revocation -> remember(
+                revocation.path("jti").asText(),
+                Instant.ofEpochMilli(revocation.path("exp").asLong())));
+        // La tabla revoked_token es la fuente de verdad: se recarga lo que se haya perdido
+        clusterBus.onResync(this::loadRevocations);
+    }
+
+    /**
+     * Carga en memoria las revocaciones vigentes al arrancar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRevocations() {
+        Instant now = Instant.now();
+        revokedTokenRepository.findByExpiresAtAfter(now)
+                .forEach(token -> remember(token.getJti(), token.getExpiresAt()));
+    }
+
+    /**
+     * Revoca un token hasta su expiración.
+     * @param jti Identificador del token.
+     * @param expiresAt Claim exp del token; pasada esa fecha la entrada se descarta.
+     */
+    @Transactional
+    public void revoke(String jti, Instant expiresAt) {
+        if (expiresAt.isBefore(Instant.now())) {
+            return;
+        }
+        revokedTokenRepository.save(RevokedToken.builder()
+                .jti(jti)
+                .expiresAt(expiresAt)
+                .revokedAt(Instant.now())
+                .build());
+        remember(jti, expiresAt);
+        if (clusterBus != null) {
+            clusterBus.publish(REVOKED_MESSAGE, Map.of("jti", jti, "exp", expiresAt.toEpochMilli()));
+        }
+    }
+
+    /**
+     * Registra una revocación ya persistida (por ejemplo, notificada por otra instancia).
+     */
+    public void remember(String jti, Instant expiresAt) {
+        revoked.put(jti, expiresAt);
+        filter.get().put(jti);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            // Tokens emitidos antes de existir el claim jti: no revocables
+            return false;
+        }
+        if (!filter.get().mightContain(jti)) {
+            bloomNegatives.increment();
+            return false;
+        }
+        exactChecks.increment();
+        return revoked.containsKey(jti);
+    }
+
+    /**
+     * Elimina las revocaciones cuyo token ya expiró y reconstruye el filtro de Bloom,
+     * que no admite borrados, a partir del conjunto exacto.
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.purge-interval:PT10M}")
+    @Transactional
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        revokedTokenRepository.deleteExpired(now);
+        revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revoked.size() * 2L), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::put);
+        filter.set(rebuilt);
+        // Revocaciones llegadas durante la reconstrucción
+        revoked.keySet().forEach(rebuilt::put);
+    }
+}
@@ -0,0 +1,141 @@
+package com.emocional.auth.service;
+
+import com.emocional.auth.cluster.ClusterBus;
+import com.emocional.auth.model.User;
+import com.emocional.auth.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Búsqueda de usuarios por email con una caché opcional en memoria (Caffeine) delante de
+ * UserRepository.findByEmail. También cachea los emails inexistentes (caché negativa) con un TTL
+ * más corto. Debe invalidarse cuando se registra un usuario o cambia su contraseña.
+ * Los emails se comparan sin distinguir mayúsculas, igual que UserRepository.findByEmail.
+ * Con varias instancias las invalidaciones se difunden por ClusterBus.
+ */
+@Service
+public class UserLookupService {
+
+    private static final String EVICT_MESSAGE = "user.evict";
+
+    private final UserRepository userRepository;
+    private final Cache<String, Optional<User>> cache;
+
+    private ClusterBus clusterBus;
+
+    public UserLookupService(UserRepository userRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${auth.user-cache.enabled:false}") boolean enabled,
+                             @Value("${auth.user-cache.maximum-size:10000}") long maximumSize,
+                             @Value("${auth.user-cache.ttl:5m}") Duration ttl,
+                             @Value("${auth.user-cache.negative-ttl:30s}") Duration negativeTtl) {
+        this.userRepository = userRepository;
+        if (enabled) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfter(new PositiveNegativeExpiry(ttl, negativeTtl))
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+        } else {
+            this.cache = null;
+        }
+    }
+
+    @Autowired(required = false)
+    void setClusterBus(ClusterBus clusterBus) {
+        this.clusterBus = clusterBus;
+        clusterBus.subscribe(EVICT_MESSAGE, email -> evictLocally(email.asText()));
+        // Tras perder mensajes no se sabe qué entradas quedaron obsoletas
+        clusterBus.onResync(() -> {
+            if (cache != null) {
+                cache.invalidateAll();
+            }
+        });
+    }
+
+    /**
+     * Busca un usuario por email, consultando la caché antes que la base de datos.
+     */
+    public Optional<User> findByEmail(String email) {
+        if (cache == null) {
+            return userRepository.findByEmail(email);
+        }
+        return cache.get(normalizeEmail(email), userRepository::findByEmail);
+    }
+
+    /**
+     * Indica si la caché ya sabe que el email está registrado, sin tocar la base de datos.
+     */
+    public boolean isKnownRegistered(String email) {
+        if (cache == null) {
+            return false;
+        }
+        Optional<User> cached = cache.getIfPresent(normalizeEmail(email));
+        return cached != null && cached.isPresent();
+    }
+
+    /**
+     * Invalida la entrada de un email (tras registro o cambio de contraseña).
+     */
+    public void evict(String email) {
+        if (cache != null) {
+            evictLocally(email);
+            if (clusterBus != null) {
+                clusterBus.publish(EVICT_MESSAGE, normalizeEmail(email));
+            }
+        }
+    }
+
+    private void evictLocally(String email) {
+        if (cache != null) {
+            cache.invalidate(normalizeEmail(email));
+        }
+    }
+
+    /**
+     * Forma canónica de un email: sin espacios alrededor y en minúsculas.
+     */
+    public static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * TTL distinto para usuarios existentes y para emails desconocidos.
+     */
+    private static final class PositiveNegativeExpiry implements Expiry<String, Optional<User>> {
+
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        PositiveNegativeExpiry(Duration ttl, Duration negativeTtl) {
+            this.ttlNanos = ttl.toNanos();
+            this.negativeTtlNanos = negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Optional<User> value, long currentTime) {
+            return value.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Optional<User> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Optional<User> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
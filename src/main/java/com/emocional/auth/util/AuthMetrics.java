@@ -0,0 +1,69 @@
+package com.emocional.auth.util;
+
+import com.emocional.auth.exception.BreachedPasswordException;
+import com.emocional.auth.exception.DuplicateEmailException;
+import com.emocional.auth.exception.ServiceOverloadedException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Timers de las etapas del flujo de autenticación, etiquetados por operación y resultado
+ * (success, bad_credentials, duplicate_email, invalid_token, overloaded, error).
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthMetrics {
+
+    public static final String SUCCESS = "success";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Ejecuta la acción midiendo su duración en el timer indicado.
+     */
+    public <T> T record(String name, String operation, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = SUCCESS;
+        try {
+            return action.get();
+        } catch (RuntimeException ex) {
+            outcome = outcomeOf(ex);
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    public static String outcomeOf(Throwable ex) {
+        if (ex instanceof ServiceOverloadedException
+                || ex instanceof InternalAuthenticationServiceException && ex.getCause() instanceof ServiceOverloadedException) {
+            return "overloaded";
+        }
+        if (ex instanceof InternalAuthenticationServiceException) {
+            return "error";
+        }
+        if (ex instanceof AuthenticationException) {
+            return "bad_credentials";
+        }
+        if (ex instanceof DuplicateEmailException) {
+            return "duplicate_email";
+        }
+        if (ex instanceof BreachedPasswordException) {
+            return "breached_password";
+        }
+        if (ex instanceof JwtException) {
+            return "invalid_token";
+        }
+        return "error";
+    }
+}
@@ -0,0 +1,129 @@
+package com.emocional.auth.util;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Utilidades para las claves asimétricas de firma JWT (RS256 y ES256):
+ * generación, lectura desde PEM/Base64, identificador (kid) y representación JWK pública.
+ */
+public final class JwtKeys {
+
+    private JwtKeys() {
+    }
+
+    public static boolean isAsymmetric(SignatureAlgorithm algorithm) {
+        return algorithm.isRsa() || algorithm.isEllipticCurve();
+    }
+
+    public static KeyPair generateKeyPair(SignatureAlgorithm algorithm) {
+        try {
+            if (algorithm.isRsa()) {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+                generator.initialize(2048);
+                return generator.generateKeyPair();
+            }
+            if (algorithm == SignatureAlgorithm.ES256) {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+                return generator.generateKeyPair();
+            }
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("No se pudo generar el par de claves " + algorithm, ex);
+        }
+        throw new IllegalArgumentException("Algoritmo de firma no soportado: " + algorithm);
+    }
+
+    /**
+     * Lee un par de claves PKCS#8 (privada) y X.509 (pública), en PEM o en Base64 DER.
+     */
+    public static KeyPair readKeyPair(SignatureAlgorithm algorithm, String privateKey, String publicKey) {
+        try {
+            KeyFactory factory = KeyFactory.getInstance(algorithm.isRsa() ? "RSA" : "EC");
+            PrivateKey privateKeyValue = factory.generatePrivate(new PKCS8EncodedKeySpec(decodePem(privateKey)));
+            PublicKey publicKeyValue = factory.generatePublic(new X509EncodedKeySpec(decodePem(publicKey)));
+            return new KeyPair(publicKeyValue, privateKeyValue);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Claves de firma JWT inválidas para " + algorithm, ex);
+        }
+    }
+
+    /**
+     * kid estable derivado de la clave pública (SHA-256 de su codificación X.509, truncado).
+     */
+    public static String keyId(PublicKey publicKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(publicKey.getEncoded());
+            return base64Url(Arrays.copyOf(digest, 12));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("SHA-256 no disponible", ex);
+        }
+    }
+
+    /**
+     * Representación JWK (RFC 7517) de una clave pública de verificación.
+     */
+    public static Map<String, Object> toJwk(String keyId, SignatureAlgorithm algorithm, PublicKey publicKey) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kid", keyId);
+        jwk.put("use", "sig");
+        jwk.put("alg", algorithm.getValue());
+        if (publicKey instanceof RSAPublicKey rsa) {
+            jwk.put("kty", "RSA");
+            jwk.put("n", base64Url(unsigned(rsa.getModulus(), 0)));
+            jwk.put("e", base64Url(unsigned(rsa.getPublicExponent(), 0)));
+        } else if (publicKey instanceof ECPublicKey ec) {
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("x", base64Url(unsigned(ec.getW().getAffineX(), 32)));
+            jwk.put("y", base64Url(unsigned(ec.getW().getAffineY(), 32)));
+        } else {
+            throw new IllegalArgumentException("Tipo de clave no soportado: " + publicKey.getAlgorithm());
+        }
+        return jwk;
+    }
+
+    private static byte[] decodePem(String value) {
+        String base64 = value
+                .replaceAll("-----BEGIN [A-Z ]+-----", "")
+                .replaceAll("-----END [A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // Big-endian sin signo; con length > 0 se rellena con ceros a la izquierda hasta esa longitud
+    private static byte[] unsigned(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if (length > bytes.length) {
+            byte[] padded = new byte[length];
+            System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+            return padded;
+        }
+        return bytes;
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -1,40 +1,170 @@
 package com.emocional.auth.util;
 
 import com.emocional.auth.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
+import jakarta.annotation.PostConstruct;
+
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 /**
  * Utilidad para la generación de JWT.
  * El Auth Service es el único responsable de CREAR tokens.
+ * Soporta HS256 (secreto compartido con el Diary Service) o firma asimétrica RS256/ES256,
+ * en cuyo caso las claves públicas se publican en /.well-known/jwks.json y los servicios
+ * consumidores verifican los tokens localmente.
  */
 @Component
 public class JwtUtil {
 
-    // Clave secreta COMPARTIDA con el Diary Service
+    private static final Logger log = LoggerFactory.getLogger(JwtUtil.class);
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    // Clave secreta COMPARTIDA con el Diary Service (solo se usa con HS256)
     @Value("${jwt.secret.key}")
     private String SECRET_KEY;
 
-    // Token expira en 24 horas (en milisegundos)
-    private static final long EXPIRATION_TIME = 1000 * 60 * 60 * 24; 
+    // Vida del token de acceso; la sesión se prolonga con el refresh token (/api/v1/auth/refresh)
+    @Value("${jwt.access-token.expiration:15m}")
+    private Duration accessTokenExpiration = Duration.ofMinutes(15);
+
+    // HS256, RS256 o ES256
+    @Value("${jwt.signing.algorithm:HS256}")
+    private String signingAlgorithm = "HS256";
+
+    // Par de claves (PEM o Base64 DER) para RS256/ES256; obligatorio salvo con jwt.signing.allow-ephemeral-keys
+    @Value("${jwt.signing.private-key:}")
+    private String signingPrivateKey = "";
+
+    @Value("${jwt.signing.public-key:}")
+    private String signingPublicKey = "";
+
+    // Solo desarrollo: sin clave configurada, genera un par efímero (distinto en cada instancia y arranque)
+    @Value("${jwt.signing.allow-ephemeral-keys:false}")
+    private boolean allowEphemeralKeys = false;
+
+    // Claves públicas anteriores que se siguen aceptando (y publicando) tras una rotación
+    @Value("${jwt.signing.retained-keys:2}")
+    private int retainedKeys = 2;
+
+    // Clave y parser materializados una sola vez; se reemplazan juntos si cambia el secreto o la clave
+    private final AtomicReference<SigningMaterial> signingMaterial = new AtomicReference<>();
+
+    // Registro global (sin efecto) cuando se instancia fuera de Spring, p. ej. en benchmarks
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    @Autowired(required = false)
+    void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void init() {
+        SignatureAlgorithm algorithm = SignatureAlgorithm.forName(signingAlgorithm);
+        if (!JwtKeys.isAsymmetric(algorithm)) {
+            updateSecret(SECRET_KEY);
+        } else if (StringUtils.hasText(signingPrivateKey)) {
+            updateSigningKey(algorithm, JwtKeys.readKeyPair(algorithm, signingPrivateKey, signingPublicKey));
+        } else if (allowEphemeralKeys) {
+            log.warn("jwt.signing.private-key vacío: se firma con un par {} efímero. "
+                    + "Los tokens no sobreviven a un reinicio ni se validan en otras instancias.", algorithm);
+            updateSigningKey(algorithm, JwtKeys.generateKeyPair(algorithm));
+        } else {
+            // Cada instancia firmaría con su propia clave y los consumidores rechazarían tokens al azar
+            throw new IllegalStateException("jwt.signing.algorithm=" + algorithm
+                    + " requiere jwt.signing.private-key (o jwt.signing.allow-ephemeral-keys=true solo en desarrollo)");
+        }
+    }
+
+    /**
+     * Reemplaza de forma atómica la clave de firma y el parser asociado.
+     * Los hilos que ya estaban firmando terminan con el material anterior.
+     * @param base64Secret Nueva clave secreta en Base64 (al menos 32 bytes para HS256).
+     */
+    public void updateSecret(String base64Secret) {
+        signingMaterial.set(SigningMaterial.fromSecret(base64Secret));
+    }
+
+    /**
+     * Pasa a firmar con un nuevo par de claves asimétricas. Las claves públicas anteriores
+     * (hasta jwt.signing.retained-keys) se siguen aceptando para los tokens ya emitidos.
+     */
+    public void updateSigningKey(SignatureAlgorithm algorithm, KeyPair keyPair) {
+        signingMaterial.updateAndGet(current -> SigningMaterial.fromKeyPair(algorithm, keyPair, current, retainedKeys));
+    }
+
+    /**
+     * Rotación programada de la clave asimétrica (jwt.signing.rotation-cron, desactivada por defecto).
+     * Solo tiene sentido con una única instancia o si todas comparten el material por otra vía.
+     */
+    @Scheduled(cron = "${jwt.signing.rotation-cron:-}")
+    public void rotateSigningKey() {
+        SignatureAlgorithm algorithm = signingMaterial.get().algorithm();
+        if (JwtKeys.isAsymmetric(algorithm)) {
+            updateSigningKey(algorithm, JwtKeys.generateKeyPair(algorithm));
+        }
+    }
+
+    /**
+     * Documento JWKS con las claves públicas vigentes y su ETag (vacío con HS256).
+     */
+    public JwkSet getJwks() {
+        return signingMaterial.get().jwks();
+    }
 
     /**
      * Genera un token JWT incluyendo el ID del usuario. 
      * El ID es crucial para que el Diary Service sepa a qué usuario asociar las entradas.
      */
     public String generateToken(UserDetails userDetails) {
+        return issueToken(userDetails).token();
+    }
+
+    /**
+     * Igual que generateToken, pero devuelve también el jti y la expiración del token emitido.
+     */
+    public IssuedToken issueToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
         
         if (userDetails instanceof User) {
@@ -45,22 +175,36 @@ public class JwtUtil {
         return createToken(claims, userDetails.getUsername());
     }
 
-    private String createToken(Map<String, Object> claims, String subject) {
-        return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(subject) // Email del usuario
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
-    }
-
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private IssuedToken createToken(Map<String, Object> claims, String subject) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = AuthMetrics.SUCCESS;
+        SigningMaterial material = signingMaterial.get();
+        try {
+            JwtBuilder builder = Jwts.builder();
+            if (material.keyId() != null) {
+                builder.setHeaderParam(JwsHeader.KEY_ID, material.keyId());
+            }
+            String jti = UUID.randomUUID().toString(); // jti: permite revocar el token
+            long now = System.currentTimeMillis();
+            Date expiration = new Date(now + accessTokenExpiration.toMillis());
+            String token = builder
+                    .setClaims(claims)
+                    .setSubject(subject) // Email del usuario
+                    .setId(jti)
+                    .setIssuedAt(new Date(now))
+                    .setExpiration(expiration)
+                    .signWith(material.signingKey(), material.algorithm())
+                    .compact();
+            return new IssuedToken(token, jti, expiration.toInstant());
+        } catch (RuntimeException ex) {
+            outcome = AuthMetrics.outcomeOf(ex);
+            throw ex;
+        } finally {
+            sample.stop(jwtTimer("sign", material.algorithm(), outcome));
+        }
     }
     
-    // --- Métodos de validación y extracción (Usados internamente en el login) ---
+    // --- Métodos de validación y extracción (usados en logout e introspección) ---
     
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -71,14 +215,110 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Verifica la firma y la expiración del token y devuelve sus claims.
+     * @throws io.jsonwebtoken.JwtException si el token no es válido o expiró.
+     */
+    public Claims extractAllClaims(String token) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = AuthMetrics.SUCCESS;
+        SigningMaterial material = signingMaterial.get();
+        try {
+            return material.parser()
+                    .parseClaimsJws(token)
+                    .getBody();
+        } catch (RuntimeException ex) {
+            outcome = AuthMetrics.outcomeOf(ex);
+            throw ex;
+        } finally {
+            sample.stop(jwtTimer("parse", material.algorithm(), outcome));
+        }
+    }
+
+    private Timer jwtTimer(String operation, SignatureAlgorithm algorithm, String outcome) {
+        return Timer.builder("auth.jwt")
+                .description("Firma y verificación de JWT")
+                .tag("operation", operation)
+                .tag("algorithm", algorithm.getValue())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Token firmado junto con su jti y su expiración.
+     */
+    public record IssuedToken(String token, String jti, Instant expiresAt) {
+    }
+
+    /**
+     * Documento JWKS serializado una sola vez, con su ETag para respuestas 304.
+     */
+    public record JwkSet(String json, String etag) {
+
+        static JwkSet of(List<Map<String, Object>> keys) {
+            try {
+                String json = JSON.writeValueAsString(Map.of("keys", keys));
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(json.getBytes(StandardCharsets.UTF_8));
+                return new JwkSet(json, "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"");
+            } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+                throw new IllegalStateException("No se pudo construir el JWKS", ex);
+            }
+        }
+    }
+
+    /**
+     * Material inmutable (thread-safe): clave de firma, claves de verificación por kid,
+     * parser construido sobre ellas y JWKS publicado.
+     */
+    private record SigningMaterial(SignatureAlgorithm algorithm,
+                                   String keyId,
+                                   Key signingKey,
+                                   Map<String, PublicKey> verificationKeys,
+                                   JwtParser parser,
+                                   JwkSet jwks) {
+
+        static SigningMaterial fromSecret(String base64Secret) {
+            byte[] keyBytes = Decoders.BASE64.decode(base64Secret);
+            Key key = Keys.hmacShaKeyFor(keyBytes);
+            JwtParser parser = Jwts.parserBuilder()
+                    .setSigningKey(key)
+                    .build();
+            return new SigningMaterial(SignatureAlgorithm.HS256, null, key, Collections.emptyMap(), parser,
+                    JwkSet.of(Collections.emptyList()));
+        }
+
+        static SigningMaterial fromKeyPair(SignatureAlgorithm algorithm, KeyPair keyPair,
+                                           SigningMaterial previous, int retainedKeys) {
+            String keyId = JwtKeys.keyId(keyPair.getPublic());
+            Map<String, PublicKey> keys = new LinkedHashMap<>();
+            keys.put(keyId, keyPair.getPublic());
+            if (previous != null && previous.algorithm() == algorithm) {
+                previous.verificationKeys().entrySet().stream()
+                        .filter(entry -> !entry.getKey().equals(keyId))
+                        .limit(retainedKeys)
+                        .forEach(entry -> keys.put(entry.getKey(), entry.getValue()));
+            }
+            Map<String, PublicKey> verificationKeys = Collections.unmodifiableMap(keys);
+
+            JwtParser parser = Jwts.parserBuilder()
+                    .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                        @Override
+                        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                            PublicKey key = verificationKeys.get(header.getKeyId());
+                            if (key == null) {
+                                throw new UnsupportedJwtException("kid desconocido: " + header.getKeyId());
+                            }
+                            return key;
+                        }
+                    })
+                    .build();
+
+            List<Map<String, Object>> jwks = new ArrayList<>();
+            verificationKeys.forEach((kid, publicKey) -> jwks.add(JwtKeys.toJwk(kid, algorithm, publicKey)));
+            return new SigningMaterial(algorithm, keyId, keyPair.getPrivate(), verificationKeys, parser, JwkSet.of(jwks));
+        }
     }
     
-    // NOTA: El Auth Service no necesita el método validateToken completo,
-    // ya que el token se genera internamente después de la autenticación de credenciales.
+    // NOTA: La validación completa (firma, exp y revocación) la expone AuthService.introspect
+    // para que el Diary Service pueda consultarla.
 }
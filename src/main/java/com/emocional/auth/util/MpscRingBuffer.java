@@ -0,0 +1,75 @@
+package com.emocional.auth.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Cola circular acotada sin bloqueos para varios productores y un único consumidor.
+ * Los productores reservan posición con un CAS sobre la cola; si está llena, offer devuelve false
+ * en lugar de esperar. El consumidor (un solo hilo) vacía las posiciones en orden.
+ */
+public class MpscRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // Solo lo escribe el consumidor; los productores lo leen para saber si hay hueco
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * @param capacity Se redondea a la siguiente potencia de dos.
+     */
+    public MpscRingBuffer(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * @return false si la cola está llena (el elemento no se encola).
+     */
+    public boolean offer(E element) {
+        while (true) {
+            long position = tail.get();
+            if (position - head.get() >= slots.length()) {
+                return false;
+            }
+            if (tail.compareAndSet(position, position + 1)) {
+                slots.lazySet((int) (position & mask), element);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Entrega hasta limit elementos al consumidor. Solo debe llamarse desde un único hilo.
+     * @return número de elementos entregados.
+     */
+    public int drain(Consumer<E> consumer, int limit) {
+        long position = head.get();
+        int drained = 0;
+        while (drained < limit) {
+            int index = (int) (position & mask);
+            E element = slots.get(index);
+            if (element == null) {
+                // Vacía, o un productor reservó la posición y aún no escribió: se recoge en la siguiente vuelta
+                break;
+            }
+            slots.lazySet(index, null);
+            position++;
+            head.lazySet(position);
+            consumer.accept(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+}
@@ -0,0 +1,33 @@
+-- Esquema inicial equivalente al que generaba spring.jpa.hibernate.ddl-auto=update.
+-- Todo es IF NOT EXISTS: en bases de datos existentes (baseline en la version 0) solo crea lo que falte.
+
+CREATE TABLE IF NOT EXISTS app_user (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6),
+    CONSTRAINT uk_app_user_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS refresh_token (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token_hash VARCHAR(64)    NOT NULL,
+    family_id  VARCHAR(36)    NOT NULL,
+    user_id    BIGINT         NOT NULL REFERENCES app_user (id),
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    revoked_at TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_refresh_token_hash ON refresh_token (token_hash);
+CREATE INDEX IF NOT EXISTS ix_refresh_token_family ON refresh_token (family_id);
+CREATE INDEX IF NOT EXISTS ix_refresh_token_user ON refresh_token (user_id);
+
+CREATE TABLE IF NOT EXISTS revoked_token (
+    jti        VARCHAR(36) PRIMARY KEY,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    revoked_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS ix_revoked_token_expires_at ON revoked_token (expires_at);
@@ -0,0 +1,24 @@
+-- Búsqueda de usuarios sin distinguir mayúsculas: UserRepository.findByEmail filtra por lower(email).
+-- El índice es único para que "Ana@x.com" y "ana@x.com" no puedan coexistir.
+-- Sin Flyway (ddl-auto=update), EmailIndexInitializer aplica la misma comprobación y el mismo índice.
+--
+-- Las bases de datos anteriores pueden tener cuentas cuyo email solo difiere en mayúsculas; el índice
+-- no se podría crear. En ese caso la migración se detiene con un mensaje claro y hay que resolverlas
+-- a mano (fusionar o renombrar las cuentas) antes de volver a arrancar. Para localizarlas:
+--
+--   SELECT lower(email), array_agg(id ORDER BY id) FROM app_user
+--   GROUP BY lower(email) HAVING count(*) > 1;
+
+DO $$
+DECLARE
+    duplicated BIGINT;
+BEGIN
+    SELECT count(*) INTO duplicated
+    FROM (SELECT 1 FROM app_user GROUP BY lower(email) HAVING count(*) > 1) d;
+    IF duplicated > 0 THEN
+        RAISE EXCEPTION 'app_user tiene % emails repetidos sin distinguir mayusculas; ver V2__app_user_lower_email_index.sql', duplicated;
+    END IF;
+END
+$$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_app_user_email_lower ON app_user (lower(email));
@@ -0,0 +1,74 @@
+-- Auditoria de logins (solo inserciones, escrita por lotes) particionada por mes y
+-- ultimo login de cada usuario. Las particiones de los meses siguientes las crea
+-- LoginAuditService (auth.audit.partition-maintenance); la particion DEFAULT recoge
+-- cualquier fila fuera de rango.
+
+ALTER TABLE app_user ADD COLUMN IF NOT EXISTS last_login_at TIMESTAMP(6);
+
+-- Una base de datos que arranco antes con ddl-auto=update (perfil por defecto) ya tiene login_audit
+-- como tabla normal con id IDENTITY. Se aparta (sin su clave primaria, su indice ni su secuencia,
+-- cuyos nombres reutiliza la tabla nueva) y sus filas se copian al final de esta migracion.
+DO $$
+DECLARE
+    pk TEXT;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class WHERE oid = to_regclass('login_audit') AND relkind = 'r') THEN
+        ALTER TABLE login_audit RENAME TO login_audit_legacy;
+        SELECT conname INTO pk FROM pg_constraint
+        WHERE conrelid = 'login_audit_legacy'::regclass AND contype = 'p';
+        IF pk IS NOT NULL THEN
+            EXECUTE format('ALTER TABLE login_audit_legacy DROP CONSTRAINT %I', pk);
+        END IF;
+        DROP INDEX IF EXISTS ix_login_audit_user;
+        ALTER TABLE login_audit_legacy ALTER COLUMN id DROP IDENTITY IF EXISTS;
+    END IF;
+END
+$$;
+
+-- Secuencia explicita: las columnas IDENTITY no se admiten en tablas particionadas hasta PostgreSQL 17
+CREATE SEQUENCE IF NOT EXISTS login_audit_id_seq;
+
+CREATE TABLE IF NOT EXISTS login_audit (
+    id          BIGINT       NOT NULL DEFAULT nextval('login_audit_id_seq'),
+    occurred_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    user_id     BIGINT,
+    email       VARCHAR(255),
+    outcome     VARCHAR(32)  NOT NULL,
+    ip          VARCHAR(64),
+    user_agent  VARCHAR(512),
+    PRIMARY KEY (id, occurred_at)
+) PARTITION BY RANGE (occurred_at);
+
+ALTER SEQUENCE login_audit_id_seq OWNED BY login_audit.id;
+
+CREATE TABLE IF NOT EXISTS login_audit_default PARTITION OF login_audit DEFAULT;
+
+CREATE INDEX IF NOT EXISTS ix_login_audit_user ON login_audit (user_id, occurred_at);
+
+-- Mes actual y siguiente
+DO $$
+DECLARE
+    month_start DATE;
+BEGIN
+    FOR i IN 0..1 LOOP
+        month_start := (date_trunc('month', now()) + make_interval(months => i))::date;
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF login_audit FOR VALUES FROM (%L) TO (%L)',
+            'login_audit_' || to_char(month_start, 'YYYY_MM'),
+            month_start,
+            (month_start + interval '1 month')::date);
+    END LOOP;
+END
+$$;
+
+-- Filas de la tabla sin particionar, si la habia
+DO $$
+BEGIN
+    IF to_regclass('login_audit_legacy') IS NOT NULL THEN
+        INSERT INTO login_audit (id, occurred_at, user_id, email, outcome, ip, user_agent)
+        SELECT id, occurred_at, user_id, email, outcome, ip, user_agent FROM login_audit_legacy;
+        PERFORM setval('login_audit_id_seq', (SELECT coalesce(max(id), 0) + 1 FROM login_audit), false);
+        DROP TABLE login_audit_legacy;
+    END IF;
+END
+$$;
@@ -0,0 +1,164 @@
+package com.emocional.auth.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClusterBusTests {
+
+	private final List<String> payloads = new ArrayList<>();
+
+	private ClusterBus nodeA;
+	private ClusterBus nodeB;
+
+	@BeforeEach
+	void setUp() {
+		// Dos instancias sobre el mismo canal; se guardan los payloads para contar los envíos
+		LoopbackClusterTransport loopback = new LoopbackClusterTransport() {
+			@Override
+			public void publish(String payload) {
+				payloads.add(payload);
+				super.publish(payload);
+			}
+		};
+		nodeA = bus(loopback);
+		nodeB = bus(loopback);
+		nodeA.start();
+		nodeB.start();
+	}
+
+	@Test
+	void deliversToOtherNodesOnly() {
+		List<String> receivedByA = new ArrayList<>();
+		List<String> receivedByB = new ArrayList<>();
+		nodeA.subscribe("user.evict", email -> receivedByA.add(email.asText()));
+		nodeB.subscribe("user.evict", email -> receivedByB.add(email.asText()));
+
+		nodeA.publish("user.evict", "ana@emocional.com");
+		nodeA.flush();
+
+		assertThat(receivedByB).containsExactly("ana@emocional.com");
+		assertThat(receivedByA).isEmpty();
+	}
+
+	@Test
+	void batchesMessagesWithinPayloadLimit() {
+		List<Long> received = new ArrayList<>();
+		nodeB.subscribe("revocation.add", revocation -> received.add(revocation.path("exp").asLong()));
+
+		for (long i = 0; i < 1000; i++) {
+			nodeA.publish("revocation.add", Map.of("jti", "jti-" + i, "exp", i));
+		}
+		nodeA.flush();
+
+		assertThat(received).hasSize(1000);
+		assertThat(payloads).hasSizeBetween(2, 20)
+				.allSatisfy(payload -> assertThat(payload.length()).isLessThanOrEqualTo(ClusterTransport.MAX_PAYLOAD_BYTES));
+	}
+
+	@Test
+	void beforeFlushPublishesAggregatedCounters() {
+		List<Integer> received = new ArrayList<>();
+		nodeB.subscribe("ratelimit.ip", counts -> received.add(counts.path("10.0.0.1").asInt()));
+		nodeA.beforeFlush(() -> nodeA.publish("ratelimit.ip", Map.of("10.0.0.1", 3)));
+
+		nodeA.flush();
+
+		assertThat(received).containsExactly(3);
+	}
+
+	@Test
+	void failedSendIsRetriedOnNextFlush() {
+		List<String> received = new ArrayList<>();
+		LoopbackClusterTransport loopback = new LoopbackClusterTransport();
+		AtomicBoolean failing = new AtomicBoolean(true);
+		ClusterBus flaky = bus(new ClusterTransport() {
+			@Override
+			public void publish(String payload) {
+				if (failing.get()) {
+					throw new IllegalStateException("sin conexión");
+				}
+				loopback.publish(payload);
+			}
+
+			@Override
+			public void start(Consumer<String> onMessage, Runnable onReconnect) {
+				loopback.start(onMessage, onReconnect);
+			}
+		});
+		ClusterBus listener = bus(loopback);
+		listener.subscribe("revocation.add", revocation -> received.add(revocation.path("jti").asText()));
+		flaky.start();
+		listener.start();
+
+		flaky.publish("revocation.add", Map.of("jti", "jti-1", "exp", 1));
+		flaky.publish("revocation.add", Map.of("jti", "jti-2", "exp", 2));
+		assertThatThrownBy(flaky::flush).isInstanceOf(IllegalStateException.class);
+		failing.set(false);
+		flaky.publish("revocation.add", Map.of("jti", "jti-3", "exp", 3));
+		flaky.flush();
+
+		assertThat(received).containsExactly("jti-1", "jti-2", "jti-3");
+	}
+
+	@Test
+	void failureOnLaterEnvelopeKeepsEveryUnsentMessageQueued() {
+		List<String> received = new ArrayList<>();
+		LoopbackClusterTransport loopback = new LoopbackClusterTransport();
+		AtomicInteger envelopes = new AtomicInteger();
+		AtomicBoolean failing = new AtomicBoolean(true);
+		ClusterBus flaky = bus(new ClusterTransport() {
+			@Override
+			public void publish(String payload) {
+				// Falla el segundo sobre: el primero ya se entregó
+				if (envelopes.incrementAndGet() == 2 && failing.get()) {
+					throw new IllegalStateException("sin conexión");
+				}
+				loopback.publish(payload);
+			}
+
+			@Override
+			public void start(Consumer<String> onMessage, Runnable onReconnect) {
+				loopback.start(onMessage, onReconnect);
+			}
+		});
+		ClusterBus listener = bus(loopback);
+		listener.subscribe("revocation.add", revocation -> received.add(revocation.path("jti").asText()));
+		flaky.start();
+		listener.start();
+
+		List<String> published = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			published.add("jti-" + i);
+			flaky.publish("revocation.add", Map.of("jti", "jti-" + i, "exp", i));
+		}
+		assertThatThrownBy(flaky::flush).isInstanceOf(IllegalStateException.class);
+
+		int delivered = received.size();
+		assertThat(delivered).isPositive().isLessThan(published.size());
+		assertThat(flaky.pendingMessages()).isEqualTo(published.size() - delivered);
+
+		failing.set(false);
+		flaky.flush();
+
+		assertThat(received).containsExactlyElementsOf(published);
+		assertThat(flaky.pendingMessages()).isZero();
+	}
+
+	private static ClusterBus bus(ClusterTransport transport) {
+		// flush-interval largo: los tests envían con flush() explícito
+		return new ClusterBus(transport, new ObjectMapper(), new SimpleMeterRegistry(), true, Duration.ofHours(1), 10_000);
+	}
+}
@@ -0,0 +1,40 @@
+package com.emocional.auth.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+		"auth.admin.api-key=clave-de-test",
+		"management.endpoints.web.exposure.include=health,prometheus,passwordhashing"
+})
+@AutoConfigureMockMvc
+class ActuatorSecurityTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void healthIsPublic() throws Exception {
+		mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+	}
+
+	@Test
+	void otherEndpointsRequireAdminKey() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isForbidden());
+		mockMvc.perform(get("/actuator/passwordhashing").header(HttpHeaders.AUTHORIZATION, "Bearer otra"))
+				.andExpect(status().isForbidden());
+
+		// Bearer como en scrape_configs.authorization de Prometheus (la exportación de métricas no se activa en tests)
+		mockMvc.perform(get("/actuator/passwordhashing").header(HttpHeaders.AUTHORIZATION, "Bearer clave-de-test"))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/actuator/passwordhashing").header("X-Admin-Key", "clave-de-test"))
+				.andExpect(status().isOk());
+	}
+}
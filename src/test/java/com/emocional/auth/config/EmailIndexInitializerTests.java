@@ -0,0 +1,35 @@
+package com.emocional.auth.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class EmailIndexInitializerTests {
+
+	@Autowired
+	private EmailIndexInitializer emailIndexInitializer;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void refusesEmailsThatDifferOnlyInCase() {
+		String email = "duplicado-" + UUID.randomUUID() + "@emocional.com";
+		// Sin el índice funcional (H2) nada impide insertarlas: es el estado que debe detener el arranque
+		jdbcTemplate.update("INSERT INTO app_user (name, email, password) VALUES ('A', ?, 'x')", email);
+		jdbcTemplate.update("INSERT INTO app_user (name, email, password) VALUES ('B', ?, 'x')", email.toUpperCase());
+		try {
+			assertThatThrownBy(emailIndexInitializer::ensureCaseInsensitiveUniqueEmails)
+					.isInstanceOf(IllegalStateException.class)
+					.hasMessageContaining(email.toLowerCase());
+		} finally {
+			jdbcTemplate.update("DELETE FROM app_user WHERE lower(email) = ?", email);
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package com.emocional.auth.config;
+
+import com.emocional.auth.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeHintsConfigTests {
+
+	private final RuntimeHints hints = new RuntimeHints();
+
+	NativeHintsConfigTests() {
+		new NativeHintsConfig.AuthRuntimeHints().registerHints(hints, getClass().getClassLoader());
+	}
+
+	@Test
+	void registersUserEntity() throws NoSuchMethodException {
+		assertThat(RuntimeHintsPredicates.reflection().onConstructor(User.class.getDeclaredConstructor()))
+				.accepts(hints);
+		assertThat(RuntimeHintsPredicates.reflection().onField(User.class, "email")).accepts(hints);
+	}
+
+	@Test
+	void registersJjwtImplementationsAndServices() {
+		assertThat(RuntimeHintsPredicates.reflection().onType(TypeReference.of("io.jsonwebtoken.impl.DefaultJwtParserBuilder")))
+				.accepts(hints);
+		assertThat(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.jsonwebtoken.io.Serializer"))
+				.accepts(hints);
+	}
+}
@@ -0,0 +1,25 @@
+package com.emocional.auth.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwksControllerTests {
+
+	private static final String ETAG = "\"0123456789abcdef\"";
+
+	@Test
+	void ifNoneMatchUsesWeakComparison() {
+		assertThat(JwksController.matches(ETAG, ETAG)).isTrue();
+		assertThat(JwksController.matches("W/" + ETAG, ETAG)).isTrue();
+		assertThat(JwksController.matches("\"otra\", W/" + ETAG, ETAG)).isTrue();
+		assertThat(JwksController.matches("*", ETAG)).isTrue();
+	}
+
+	@Test
+	void ifNoneMatchWithOtherTagsDoesNotMatch() {
+		assertThat(JwksController.matches(null, ETAG)).isFalse();
+		assertThat(JwksController.matches("\"otra\", W/\"antigua\"", ETAG)).isFalse();
+		assertThat(JwksController.matches("0123456789abcdef", ETAG)).isFalse();
+	}
+}
@@ -0,0 +1,114 @@
+package com.emocional.auth.security;
+
+import com.emocional.auth.security.AdaptiveConcurrencyLimit.Priority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTests {
+
+	private static final long MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+
+	@Test
+	void lowPriorityLeavesReserveForHighPriority() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 10, 10, 0.2, 2.0, 0.2);
+
+		for (int i = 0; i < 8; i++) {
+			assertThat(limit.tryAcquire(Priority.LOW)).isTrue();
+		}
+		assertThat(limit.tryAcquire(Priority.LOW)).isFalse();
+		assertThat(limit.tryAcquire(Priority.HIGH)).isTrue();
+		assertThat(limit.tryAcquire(Priority.HIGH)).isTrue();
+		assertThat(limit.tryAcquire(Priority.HIGH)).isFalse();
+		// Los health checks no se rechazan nunca
+		assertThat(limit.tryAcquire(Priority.CRITICAL)).isTrue();
+	}
+
+	@Test
+	void limitGrowsWhileLatencyIsStableAndShrinksWhenItRises() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 100, 0.2, 2.0, 0.2);
+
+		busyRound(limit, 10 * MILLISECOND, 20);
+		int grown = limit.getLimit();
+		assertThat(grown).isGreaterThan(20);
+
+		busyRound(limit, 100 * MILLISECOND, 2);
+		assertThat(limit.getLimit()).isLessThan(grown);
+	}
+
+	@Test
+	void latencyWithoutLoadDoesNotChangeLimit() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 100, 0.2, 2.0, 0.2);
+
+		for (int i = 0; i < 50; i++) {
+			limit.tryAcquire(Priority.HIGH);
+			limit.release(Priority.HIGH, (i == 0 ? 10 : 500) * MILLISECOND, false);
+		}
+
+		assertThat(limit.getLimit()).isEqualTo(20);
+	}
+
+	@Test
+	void downstreamRejectionsBackOff() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 100, 0.2, 2.0, 0.2);
+
+		limit.tryAcquire(Priority.LOW);
+		limit.release(Priority.LOW, 10 * MILLISECOND, true);
+
+		assertThat(limit.getLimit()).isEqualTo(18);
+		assertThat(limit.getInFlight()).isZero();
+	}
+
+	@Test
+	void filterShedsLoginButAdmitsHealthWhenSaturated() throws Exception {
+		AdaptiveConcurrencyLimitFilter filter = new AdaptiveConcurrencyLimitFilter(new ObjectMapper().findAndRegisterModules(),
+				new SimpleMeterRegistry(), true, 1, 1, 1, 0.0, 2.0, 0.2, 3);
+		filter.getLimit().tryAcquire(Priority.HIGH);
+
+		MockHttpServletResponse login = new MockHttpServletResponse();
+		filter.doFilter(request("/api/v1/auth/login"), login, new MockFilterChain());
+		MockHttpServletResponse health = new MockHttpServletResponse();
+		filter.doFilter(request("/actuator/health"), health, new MockFilterChain());
+
+		assertThat(login.getStatus()).isEqualTo(503);
+		assertThat(login.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+		assertThat(health.getStatus()).isEqualTo(200);
+		assertThat(filter.getLimit().getInFlight()).isEqualTo(1);
+	}
+
+	@Test
+	void onlyHealthProbesAreCritical() {
+		assertThat(AdaptiveConcurrencyLimitFilter.priorityOf("/actuator/health")).isEqualTo(Priority.CRITICAL);
+		assertThat(AdaptiveConcurrencyLimitFilter.priorityOf("/actuator/health/readiness")).isEqualTo(Priority.CRITICAL);
+		assertThat(AdaptiveConcurrencyLimitFilter.priorityOf("/actuator/prometheus")).isEqualTo(Priority.HIGH);
+		assertThat(AdaptiveConcurrencyLimitFilter.priorityOf("/actuator/healthz")).isEqualTo(Priority.HIGH);
+		assertThat(AdaptiveConcurrencyLimitFilter.priorityOf("/api/v1/auth/register")).isEqualTo(Priority.LOW);
+	}
+
+	// Peticiones concurrentes: se admiten todas las que caben y se liberan con la misma latencia
+	private static void busyRound(AdaptiveConcurrencyLimit limit, long rttNanos, int rounds) {
+		for (int round = 0; round < rounds; round++) {
+			int admitted = 0;
+			while (limit.tryAcquire(Priority.HIGH)) {
+				admitted++;
+			}
+			for (int i = 0; i < admitted; i++) {
+				limit.release(Priority.HIGH, rttNanos, false);
+			}
+		}
+	}
+
+	private static MockHttpServletRequest request(String path) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+		request.setServletPath(path);
+		return request;
+	}
+}
@@ -0,0 +1,135 @@
+package com.emocional.auth.security;
+
+import com.emocional.auth.dto.ErrorResponse;
+import com.emocional.auth.exception.ServiceOverloadedException;
+import com.emocional.auth.handler.GlobalExceptionHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class BoundedPasswordEncoderTests {
+
+	private static final long RETRY_AFTER_SECONDS = 3;
+
+	private final CountDownLatch started = new CountDownLatch(1);
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private BoundedPasswordEncoder encoder;
+
+	@BeforeEach
+	void setUp() {
+		// Un hilo y una plaza en cola: la tercera operación concurrente debe rechazarse
+		encoder = new BoundedPasswordEncoder(new BlockingEncoder(), 1, 1, RETRY_AFTER_SECONDS, meterRegistry);
+	}
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		encoder.close();
+	}
+
+	@Test
+	void saturatedPoolAnswers503WithRetryAfter() throws Exception {
+		saturate();
+
+		assertThatThrownBy(() -> encoder.encode("tercera"))
+				.isInstanceOfSatisfying(ServiceOverloadedException.class,
+						ex -> {
+							assertThat(ex.getRetryAfterSeconds()).isEqualTo(RETRY_AFTER_SECONDS);
+							assertServiceUnavailable(new GlobalExceptionHandler().handleServiceOverloadedException(ex));
+						});
+		assertThat(meterRegistry.get("auth.password.hashing.rejected").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void overloadWrappedByAuthenticationProviderIsUnwrapped() throws Exception {
+		// DaoAuthenticationProvider envuelve en InternalAuthenticationServiceException cualquier
+		// excepción no prevista de loadUserByUsername, incluida la saturación del pool
+		saturate();
+		ServiceOverloadedException overloaded = catchThrowableOfType(
+				() -> encoder.encode("tercera"), ServiceOverloadedException.class);
+		DaoAuthenticationProvider provider = new DaoAuthenticationProvider(new BCryptPasswordEncoder(4));
+		provider.setUserDetailsService(username -> {
+			throw overloaded;
+		});
+
+		assertThatThrownBy(() -> provider.authenticate(
+				new UsernamePasswordAuthenticationToken("nadie@example.com", "secreto")))
+				.isInstanceOfSatisfying(InternalAuthenticationServiceException.class,
+						ex -> {
+							assertThat(ex.getCause()).isInstanceOf(ServiceOverloadedException.class);
+							assertServiceUnavailable(new GlobalExceptionHandler().handleInternalAuthenticationServiceException(ex));
+						});
+	}
+
+	@Test
+	void otherInternalAuthenticationFailuresStayInternalErrors() {
+		ResponseEntity<ErrorResponse> response = new GlobalExceptionHandler().handleInternalAuthenticationServiceException(
+				new InternalAuthenticationServiceException("BD caída", new IllegalStateException("BD caída")));
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+		assertThat(response.getHeaders().containsKey(HttpHeaders.RETRY_AFTER)).isFalse();
+	}
+
+	/**
+	 * Ocupa el único hilo del pool y la única plaza de la cola con operaciones bloqueadas.
+	 */
+	private void saturate() throws InterruptedException {
+		CompletableFuture.runAsync(() -> encoder.encode("primera"));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		CompletableFuture.runAsync(() -> encoder.encode("segunda"));
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (meterRegistry.get("auth.password.hashing.queue.depth").gauge().value() < 1) {
+			assertThat(System.nanoTime()).isLessThan(deadline);
+			Thread.sleep(5);
+		}
+	}
+
+	private static void assertServiceUnavailable(ResponseEntity<ErrorResponse> response) {
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+		assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo(String.valueOf(RETRY_AFTER_SECONDS));
+		assertThat(response.getBody().getStatus()).isEqualTo(503);
+	}
+
+	private final class BlockingEncoder implements PasswordEncoder {
+
+		@Override
+		public String encode(CharSequence rawPassword) {
+			block();
+			return "{noop}" + rawPassword;
+		}
+
+		@Override
+		public boolean matches(CharSequence rawPassword, String encodedPassword) {
+			block();
+			return false;
+		}
+
+		private void block() {
+			started.countDown();
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.emocional.auth.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BreachedPasswordIndexTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void findsEveryPasswordAcrossSegments() throws IOException {
+		List<String> passwords = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			passwords.add("filtrada-" + i);
+		}
+		// Duplicados: se escriben una sola vez
+		passwords.add("filtrada-7");
+		Path input = Files.write(dir.resolve("passwords.txt"), passwords);
+		Path output = dir.resolve("breached.idx");
+
+		long written = BreachedPasswordIndexBuilder.build(input, output, true, 1);
+
+		assertThat(written).isEqualTo(1000);
+		assertThat(Files.size(output)).isEqualTo(1000L * BreachedPasswordIndex.RECORD_SIZE);
+		// Segmentos de 64 registros para cubrir las búsquedas que cruzan de una proyección a otra
+		BreachedPasswordIndex index = BreachedPasswordIndex.open(output, 64);
+		for (int i = 0; i < 1000; i++) {
+			assertThat(index.containsPassword("filtrada-" + i)).isTrue();
+		}
+		assertThat(index.containsPassword("no-filtrada")).isFalse();
+		assertThat(index.containsPassword("filtrada-1000")).isFalse();
+	}
+
+	@Test
+	void sha1DumpHonoursMinimumCount() throws IOException {
+		HexFormat hex = HexFormat.of().withUpperCase();
+		String common = hex.formatHex(BreachedPasswordIndex.sha1("123456"));
+		String rare = hex.formatHex(BreachedPasswordIndex.sha1("rara"));
+		List<String> lines = common.compareTo(rare) < 0
+				? List.of(common + ":37359195", rare + ":1")
+				: List.of(rare + ":1", common + ":37359195");
+		Path input = Files.write(dir.resolve("pwned.txt"), lines);
+		Path output = dir.resolve("breached.idx");
+
+		assertThat(BreachedPasswordIndexBuilder.build(input, output, false, 2)).isEqualTo(1);
+
+		BreachedPasswordIndex index = BreachedPasswordIndex.open(output);
+		assertThat(index.containsPassword("123456")).isTrue();
+		assertThat(index.containsPassword("rara")).isFalse();
+	}
+
+	@Test
+	void unsortedSha1DumpIsRejected() throws IOException {
+		Path input = Files.write(dir.resolve("pwned.txt"), List.of(
+				"FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFF:1",
+				"0000000000000000000000000000000000000000:1"));
+		Path output = dir.resolve("breached.idx");
+
+		assertThatThrownBy(() -> BreachedPasswordIndexBuilder.build(input, output, false, 1))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThat(output).doesNotExist();
+	}
+
+	@Test
+	void emptyIndexContainsNothing() throws IOException {
+		Path file = Files.createFile(dir.resolve("empty.idx"));
+
+		assertThat(BreachedPasswordIndex.open(file).containsPassword("123456")).isFalse();
+	}
+}
@@ -0,0 +1,73 @@
+package com.emocional.auth.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginRateLimitFilterTests {
+
+	private static final int MAX_BODY_BYTES = 64;
+
+	private final LoginRateLimitFilter filter = new LoginRateLimitFilter(new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry(),
+			true, 60, 20, 10, 5, 1000, Duration.ofMinutes(10), MAX_BODY_BYTES);
+
+	@Test
+	void smallBodyReachesTheControllerIntact() throws Exception {
+		String json = "{\"email\":\"ana@example.com\",\"password\":\"x\"}";
+		MockFilterChain chain = new MockFilterChain();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(login(json), response, chain);
+
+		assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+		assertThat(chain.getRequest().getInputStream().readAllBytes())
+				.isEqualTo(json.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void rejectsOversizedContentLength() throws Exception {
+		MockFilterChain chain = new MockFilterChain();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(login("x".repeat(MAX_BODY_BYTES + 1)), response, chain);
+
+		assertThat(response.getStatus()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE.value());
+		assertThat(chain.getRequest()).isNull();
+	}
+
+	@Test
+	void rejectsOversizedBodyWithoutContentLength() throws Exception {
+		// Petición chunked: sin Content-Length el límite se aplica durante la lectura
+		HttpServletRequestWrapper chunked = new HttpServletRequestWrapper(login("x".repeat(10 * MAX_BODY_BYTES))) {
+			@Override
+			public long getContentLengthLong() {
+				return -1;
+			}
+		};
+		MockFilterChain chain = new MockFilterChain();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(chunked, response, chain);
+
+		assertThat(response.getStatus()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE.value());
+		assertThat(chain.getRequest()).isNull();
+	}
+
+	private static MockHttpServletRequest login(String body) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", LoginRateLimitFilter.LOGIN_PATH);
+		request.setServletPath(LoginRateLimitFilter.LOGIN_PATH);
+		request.setContentType("application/json");
+		request.setContent(body.getBytes(StandardCharsets.UTF_8));
+		return request;
+	}
+}
@@ -0,0 +1,42 @@
+package com.emocional.auth.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTests {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	@Test
+	void allowsBurstThenRejectsWithWaitTime() {
+		TokenBucket bucket = new TokenBucket(SECOND, 3, 0);
+
+		assertThat(bucket.tryAcquire(0)).isZero();
+		assertThat(bucket.tryAcquire(0)).isZero();
+		assertThat(bucket.tryAcquire(0)).isZero();
+		assertThat(bucket.tryAcquire(0)).isEqualTo(SECOND);
+	}
+
+	@Test
+	void refillsAtSustainedRate() {
+		TokenBucket bucket = new TokenBucket(SECOND, 1, 0);
+
+		assertThat(bucket.tryAcquire(0)).isZero();
+		assertThat(bucket.tryAcquire(SECOND / 2)).isEqualTo(SECOND / 2);
+		assertThat(bucket.tryAcquire(SECOND)).isZero();
+	}
+
+	@Test
+	void remotePermitsCountAgainstBurst() {
+		TokenBucket bucket = new TokenBucket(SECOND, 3, 0);
+
+		// Dos permisos concedidos en otra instancia
+		bucket.consume(2, 0);
+
+		assertThat(bucket.tryAcquire(0)).isZero();
+		assertThat(bucket.tryAcquire(0)).isEqualTo(SECOND);
+	}
+}
@@ -0,0 +1,193 @@
+package com.emocional.auth.service;
+
+import com.emocional.auth.dto.AuthResponse;
+import com.emocional.auth.dto.IntrospectRequest;
+import com.emocional.auth.dto.LoginRequest;
+import com.emocional.auth.dto.RefreshRequest;
+import com.emocional.auth.dto.RegisterRequest;
+import com.emocional.auth.model.User;
+import com.emocional.auth.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class AuthServiceImplTests {
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void loginExecutesSingleSelect() {
+		String email = "login-" + UUID.randomUUID() + "@emocional.com";
+		authService.register(registerRequest(email, "secreto123"));
+
+		statistics.clear();
+		AuthResponse response = authService.login(loginRequest(email, "secreto123"));
+
+		assertThat(response.getToken()).isNotBlank();
+		// Un único SELECT del usuario; el resto es el INSERT del refresh token
+		assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+
+	@Test
+	void loginUpgradesLegacyPasswordHash() {
+		String email = "legacy-" + UUID.randomUUID() + "@emocional.com";
+		// Hash anterior a los prefijos de DelegatingPasswordEncoder y con un coste menor al configurado
+		userRepository.save(User.builder()
+				.name("Usuario Legacy")
+				.email(email)
+				.password(new BCryptPasswordEncoder(4).encode("secreto123"))
+				.build());
+
+		authService.login(loginRequest(email, "secreto123"));
+
+		String upgraded = userRepository.findByEmail(email).orElseThrow().getPassword();
+		assertThat(upgraded).startsWith("{bcrypt}$2a$10$");
+		assertThat(authService.login(loginRequest(email, "secreto123")).getToken()).isNotBlank();
+	}
+
+	@Test
+	void registerExecutesSingleInsert() {
+		String email = "register-" + UUID.randomUUID() + "@emocional.com";
+
+		statistics.clear();
+		authService.register(registerRequest(email, "secreto123"));
+
+		// INSERT del usuario e INSERT del refresh token, sin SELECT previo
+		assertThat(statistics.getEntityInsertCount()).isEqualTo(2);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+
+	@Test
+	void loginIgnoresEmailCase() {
+		String email = "Mayusculas-" + UUID.randomUUID() + "@Emocional.com";
+		authService.register(registerRequest(email, "secreto123"));
+
+		assertThat(userRepository.findByEmail(email.toLowerCase()).orElseThrow().getEmail()).isEqualTo(email.toLowerCase());
+		assertThat(authService.login(loginRequest(email.toUpperCase(), "secreto123")).getToken()).isNotBlank();
+	}
+
+	@Test
+	void registerRejectsDuplicateEmail() {
+		String email = "duplicado-" + UUID.randomUUID() + "@emocional.com";
+		authService.register(registerRequest(email, "secreto123"));
+
+		assertThatThrownBy(() -> authService.register(registerRequest(email, "otroSecreto")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("El email ya está en uso.");
+	}
+
+	@Test
+	void refreshRotatesToken() {
+		String email = "refresh-" + UUID.randomUUID() + "@emocional.com";
+		AuthResponse registered = authService.register(registerRequest(email, "secreto123"));
+
+		AuthResponse refreshed = authService.refresh(refreshRequest(registered.getRefreshToken()));
+
+		assertThat(refreshed.getToken()).isNotBlank();
+		assertThat(refreshed.getRefreshToken()).isNotEqualTo(registered.getRefreshToken());
+	}
+
+	@Test
+	void reusedRefreshTokenRevokesFamily() {
+		String email = "reuse-" + UUID.randomUUID() + "@emocional.com";
+		AuthResponse registered = authService.register(registerRequest(email, "secreto123"));
+		AuthResponse refreshed = authService.refresh(refreshRequest(registered.getRefreshToken()));
+
+		assertThatThrownBy(() -> authService.refresh(refreshRequest(registered.getRefreshToken())))
+				.isInstanceOf(BadCredentialsException.class);
+		// El token legítimo de la misma familia también queda revocado
+		assertThatThrownBy(() -> authService.refresh(refreshRequest(refreshed.getRefreshToken())))
+				.isInstanceOf(BadCredentialsException.class);
+	}
+
+	@Test
+	void logoutRevokesAccessToken() {
+		String email = "logout-" + UUID.randomUUID() + "@emocional.com";
+		AuthResponse registered = authService.register(registerRequest(email, "secreto123"));
+
+		assertThat(authService.introspect(introspectRequest(registered.getToken())).isActive()).isTrue();
+
+		authService.logout(registered.getToken(), null);
+
+		assertThat(authService.introspect(introspectRequest(registered.getToken())).isActive()).isFalse();
+	}
+
+	@Test
+	void authenticateRecordsOutcome() {
+		String email = "metrics-" + UUID.randomUUID() + "@emocional.com";
+		authService.register(registerRequest(email, "secreto123"));
+		long failures = authenticateCount("bad_credentials");
+		long successes = authenticateCount("success");
+
+		assertThatThrownBy(() -> authService.login(loginRequest(email, "incorrecta")))
+				.isInstanceOf(BadCredentialsException.class);
+		authService.login(loginRequest(email, "secreto123"));
+
+		assertThat(authenticateCount("bad_credentials")).isEqualTo(failures + 1);
+		assertThat(authenticateCount("success")).isEqualTo(successes + 1);
+		assertThat(meterRegistry.get("auth.jwt").tags("operation", "sign", "algorithm", "HS256").timer().count()).isPositive();
+	}
+
+	private long authenticateCount(String outcome) {
+		var timer = meterRegistry.find("auth.authenticate").tag("outcome", outcome).timer();
+		return timer == null ? 0 : timer.count();
+	}
+
+	private static IntrospectRequest introspectRequest(String token) {
+		IntrospectRequest request = new IntrospectRequest();
+		request.setToken(token);
+		return request;
+	}
+
+	private static RefreshRequest refreshRequest(String refreshToken) {
+		RefreshRequest request = new RefreshRequest();
+		request.setRefreshToken(refreshToken);
+		return request;
+	}
+
+	private static RegisterRequest registerRequest(String email, String password) {
+		RegisterRequest request = new RegisterRequest();
+		request.setName("Usuario Test");
+		request.setEmail(email);
+		request.setPassword(password);
+		return request;
+	}
+
+	private static LoginRequest loginRequest(String email, String password) {
+		LoginRequest request = new LoginRequest();
+		request.setEmail(email);
+		request.setPassword(password);
+		return request;
+	}
+}
@@ -0,0 +1,50 @@
+package com.emocional.auth.service;
+
+import com.emocional.auth.security.BreachedPasswordIndexBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BreachedPasswordServiceTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void reloadSwapsInReplacedIndex() throws IOException {
+		Path file = dir.resolve("breached.idx");
+		build(file, List.of("123456"));
+		BreachedPasswordService service = new BreachedPasswordService(new SimpleMeterRegistry(), file.toString());
+		service.load();
+
+		assertThat(service.isBreached("123456")).isTrue();
+		assertThat(service.isBreached("qwerty")).isFalse();
+
+		// El builder reemplaza el fichero con un rename atómico
+		build(file, List.of("123456", "qwerty"));
+		service.reload();
+
+		assertThat(service.isBreached("qwerty")).isTrue();
+	}
+
+	@Test
+	void missingFileKeepsCheckDisabled() {
+		BreachedPasswordService service = new BreachedPasswordService(new SimpleMeterRegistry(),
+				dir.resolve("no-existe.idx").toString());
+		service.load();
+
+		assertThat(service.isBreached("123456")).isFalse();
+	}
+
+	private void build(Path output, List<String> passwords) throws IOException {
+		Path input = Files.write(dir.resolve("passwords.txt"), passwords);
+		BreachedPasswordIndexBuilder.build(input, output, true, 1);
+	}
+}
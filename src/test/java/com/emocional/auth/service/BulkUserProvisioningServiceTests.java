@@ -0,0 +1,207 @@
+package com.emocional.auth.service;
+
+import com.emocional.auth.dto.BulkUserSummary;
+import com.emocional.auth.dto.LoginRequest;
+import com.emocional.auth.dto.RegisterRequest;
+import com.emocional.auth.exception.BreachedPasswordException;
+import com.emocional.auth.model.User;
+import com.emocional.auth.repository.UserRepository;
+import com.emocional.auth.security.BreachedPasswordIndexBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "auth.bulk.batch-size=2")
+class BulkUserProvisioningServiceTests {
+
+	@TempDir
+	Path dir;
+
+	@Autowired
+	private BulkUserProvisioningService bulkUserProvisioningService;
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private NamedParameterJdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private UserLookupService userLookupService;
+
+	@Autowired
+	private RegisteredEmailFilter registeredEmailFilter;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void provisionsNdjsonAndReportsEachRow() throws IOException {
+		String prefix = UUID.randomUUID().toString();
+		RegisterRequest existing = new RegisterRequest();
+		existing.setName("Existente");
+		existing.setEmail(prefix + "-existente@emocional.com");
+		existing.setPassword("secreto123");
+		authService.register(existing);
+
+		String input = String.join("\n",
+				"{\"name\":\"Ana\",\"email\":\"" + prefix + "-ana@emocional.com\",\"password\":\"secreto123\"}",
+				"{\"name\":\"Ana bis\",\"email\":\"" + prefix.toUpperCase() + "-ANA@emocional.com\",\"password\":\"otra\"}",
+				"{\"name\":\"Existente\",\"email\":\"" + prefix + "-existente@emocional.com\",\"password\":\"x\"}",
+				"no es json",
+				"",
+				"{\"name\":\"Luis\",\"email\":\"" + prefix + "-luis@emocional.com\",\"password\":\"secreto123\"}");
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		BulkUserSummary summary = bulkUserProvisioningService.provision(
+				new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)),
+				BulkUserProvisioningService.Format.NDJSON,
+				output);
+
+		assertThat(summary.getCreated()).isEqualTo(2);
+		assertThat(summary.getDuplicates()).isEqualTo(2);
+		assertThat(summary.getInvalid()).isEqualTo(1);
+		// Una línea por fila no vacía más la de totales
+		assertThat(output.toString(StandardCharsets.UTF_8).lines()).hasSize(6)
+				.anySatisfy(line -> assertThat(line).contains("\"line\":4", "\"status\":\"invalid\""));
+		assertThat(authService.login(loginRequest(prefix + "-luis@emocional.com", "secreto123")).getToken()).isNotBlank();
+	}
+
+	@Test
+	void provisionsCsvWithHeaderAndQuotedFields() throws IOException {
+		String email = UUID.randomUUID() + "-csv@emocional.com";
+		String input = "name,email,password\n\"Pérez, María\"," + email + ",\"se\"\"creto\"\nsolo,dos\n";
+
+		BulkUserSummary summary = bulkUserProvisioningService.provision(
+				new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)),
+				BulkUserProvisioningService.Format.CSV,
+				new ByteArrayOutputStream());
+
+		assertThat(summary.getCreated()).isEqualTo(1);
+		assertThat(summary.getInvalid()).isEqualTo(1);
+		assertThat(authService.login(loginRequest(email, "se\"creto")).getToken()).isNotBlank();
+	}
+
+	@Test
+	void reportsConcurrentInsertsAsDuplicatesAndHashingFailuresAsErrors() throws IOException {
+		String prefix = UUID.randomUUID().toString();
+		String raced = prefix + "-carrera@emocional.com";
+		// Encoder que simula otra alta del mismo email mientras se hashea y que falla con "falla"
+		PasswordEncoder encoder = new PasswordEncoder() {
+			@Override
+			public String encode(CharSequence rawPassword) {
+				if ("falla".contentEquals(rawPassword)) {
+					throw new IllegalStateException("fallo de hashing");
+				}
+				if ("carrera".contentEquals(rawPassword)) {
+					userRepository.save(User.builder().name("Otra alta").email(raced).password("x").build());
+				}
+				return passwordEncoder.encode(rawPassword);
+			}
+
+			@Override
+			public boolean matches(CharSequence rawPassword, String encodedPassword) {
+				return passwordEncoder.matches(rawPassword, encodedPassword);
+			}
+		};
+		BulkUserProvisioningService service = new BulkUserProvisioningService(jdbcTemplate, userLookupService,
+				registeredEmailFilter, new BreachedPasswordService(new SimpleMeterRegistry(), ""), encoder,
+				objectMapper, new SimpleMeterRegistry(), 10, 1, 4096);
+
+		String input = String.join("\n",
+				"{\"name\":\"Carrera\",\"email\":\"" + raced + "\",\"password\":\"carrera\"}",
+				"{\"name\":\"Falla\",\"email\":\"" + prefix + "-falla@emocional.com\",\"password\":\"falla\"}",
+				"{\"name\":\"Ok\",\"email\":\"" + prefix + "-ok@emocional.com\",\"password\":\"secreto123\"}");
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		BulkUserSummary summary = service.provision(
+				new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)),
+				BulkUserProvisioningService.Format.NDJSON,
+				output);
+
+		assertThat(summary.getCreated()).isEqualTo(1);
+		assertThat(summary.getDuplicates()).isEqualTo(1);
+		assertThat(summary.getErrors()).isEqualTo(1);
+		assertThat(output.toString(StandardCharsets.UTF_8).lines())
+				.anySatisfy(line -> assertThat(line).contains("\"line\":2", "\"status\":\"error\""));
+	}
+
+	@Test
+	void rejectsBreachedPasswordsAsInvalid() throws IOException {
+		Path index = dir.resolve("breached.idx");
+		BreachedPasswordIndexBuilder.build(Files.write(dir.resolve("passwords.txt"), List.of("123456")), index, true, 1);
+		BreachedPasswordService breachedPasswordService = new BreachedPasswordService(new SimpleMeterRegistry(), index.toString());
+		breachedPasswordService.load();
+		BulkUserProvisioningService service = new BulkUserProvisioningService(jdbcTemplate, userLookupService,
+				registeredEmailFilter, breachedPasswordService, passwordEncoder, objectMapper, new SimpleMeterRegistry(), 10, 1, 4096);
+
+		String prefix = UUID.randomUUID().toString();
+		String csv = String.join("\n",
+				"name,email,password",
+				"Filtrada," + prefix + "-filtrada@emocional.com,123456",
+				"Segura," + prefix + "-segura@emocional.com,secreto123");
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		BulkUserSummary summary = service.provision(
+				new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+				BulkUserProvisioningService.Format.CSV,
+				output);
+
+		assertThat(summary.getCreated()).isEqualTo(1);
+		assertThat(summary.getInvalid()).isEqualTo(1);
+		assertThat(output.toString(StandardCharsets.UTF_8).lines())
+				.anySatisfy(line -> assertThat(line).contains("\"line\":2", "\"status\":\"invalid\"",
+						BreachedPasswordException.MESSAGE));
+		assertThat(userRepository.findByEmail(prefix + "-filtrada@emocional.com")).isEmpty();
+	}
+
+	@Test
+	void oversizedLineIsReportedAndSkippedUpToTheNextNewline() throws IOException {
+		BulkUserProvisioningService service = new BulkUserProvisioningService(jdbcTemplate, userLookupService,
+				registeredEmailFilter, new BreachedPasswordService(new SimpleMeterRegistry(), ""), passwordEncoder,
+				objectMapper, new SimpleMeterRegistry(), 10, 1, 256);
+
+		String prefix = UUID.randomUUID().toString();
+		String input = String.join("\r\n",
+				"{\"name\":\"Antes\",\"email\":\"" + prefix + "-antes@emocional.com\",\"password\":\"secreto123\"}",
+				"{\"name\":\"" + "x".repeat(100_000) + "\"}",
+				"{\"name\":\"Despues\",\"email\":\"" + prefix + "-despues@emocional.com\",\"password\":\"secreto123\"}");
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		BulkUserSummary summary = service.provision(
+				new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)),
+				BulkUserProvisioningService.Format.NDJSON,
+				output);
+
+		assertThat(summary.getCreated()).isEqualTo(2);
+		assertThat(summary.getInvalid()).isEqualTo(1);
+		assertThat(output.toString(StandardCharsets.UTF_8).lines())
+				.anySatisfy(line -> assertThat(line).contains("\"line\":2", "\"status\":\"invalid\"", "256 caracteres"));
+	}
+
+	private static LoginRequest loginRequest(String email, String password) {
+		LoginRequest request = new LoginRequest();
+		request.setEmail(email);
+		request.setPassword(password);
+		return request;
+	}
+}
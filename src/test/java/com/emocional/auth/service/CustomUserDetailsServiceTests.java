@@ -0,0 +1,45 @@
+package com.emocional.auth.service;
+
+import com.emocional.auth.model.User;
+import com.emocional.auth.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomUserDetailsServiceTests {
+
+	@Test
+	void updatePasswordLeavesTheCachedInstanceUntouched() {
+		UserRepository userRepository = mock(UserRepository.class);
+		IssuedTokenCache issuedTokenCache = mock(IssuedTokenCache.class);
+		UserLookupService userLookupService = new UserLookupService(userRepository, new SimpleMeterRegistry(),
+				true, 100, Duration.ofMinutes(5), Duration.ofSeconds(30));
+		CustomUserDetailsService service = new CustomUserDetailsService(userLookupService, userRepository, issuedTokenCache);
+
+		User cached = User.builder().id(7L).email("a@emocional.com").name("A").password("{bcrypt}viejo").build();
+		when(userRepository.findByEmail("a@emocional.com")).thenReturn(Optional.of(cached));
+		UserDetails loaded = service.loadUserByUsername("a@emocional.com");
+
+		UserDetails updated = service.updatePassword(loaded, "{bcrypt}nuevo");
+
+		assertThat(cached.getPassword()).isEqualTo("{bcrypt}viejo");
+		assertThat(updated).isNotSameAs(cached);
+		assertThat(updated.getPassword()).isEqualTo("{bcrypt}nuevo");
+		assertThat(updated.getUsername()).isEqualTo("a@emocional.com");
+		verify(userRepository).updatePassword(7L, "{bcrypt}nuevo");
+		verify(issuedTokenCache).invalidate(7L);
+
+		// La entrada se ha invalidado: la siguiente búsqueda vuelve a la base de datos
+		service.loadUserByUsername("a@emocional.com");
+		verify(userRepository, times(2)).findByEmail("a@emocional.com");
+	}
+}
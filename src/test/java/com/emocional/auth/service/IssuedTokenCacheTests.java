@@ -0,0 +1,101 @@
+package com.emocional.auth.service;
+
+import com.emocional.auth.model.User;
+import com.emocional.auth.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IssuedTokenCacheTests {
+
+	private static final String CLIENT = "10.0.0.1 Mozilla/5.0";
+	private static final String OTHER_CLIENT = "10.0.0.2 okhttp/4.12";
+
+	private final User user = User.builder().id(7L).name("Ana").email("ana@emocional.com").password("x").build();
+
+	private TokenRevocationService tokenRevocationService;
+	private SimpleMeterRegistry meterRegistry;
+	private IssuedTokenCache issuedTokenCache;
+
+	@BeforeEach
+	void setUp() {
+		tokenRevocationService = mock(TokenRevocationService.class);
+		meterRegistry = new SimpleMeterRegistry();
+		issuedTokenCache = new IssuedTokenCache(jwtUtil(), tokenRevocationService, meterRegistry,
+				true, 100, Duration.ofSeconds(30), Duration.ofMinutes(5));
+	}
+
+	@Test
+	void reusesTokenForRepeatedLogins() {
+		String first = issuedTokenCache.tokenFor(user, CLIENT);
+
+		assertThat(issuedTokenCache.tokenFor(user, CLIENT)).isEqualTo(first);
+		assertThat(meterRegistry.get("auth.token-cache.tokens").tag("result", "reused").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void differentClientsNeverShareATokenOrJti() {
+		JwtUtil jwtUtil = jwtUtil();
+		String first = issuedTokenCache.tokenFor(user, CLIENT);
+		String other = issuedTokenCache.tokenFor(user, OTHER_CLIENT);
+
+		// Revocar el jti de un dispositivo en el logout no debe cerrar la sesión del otro
+		assertThat(other).isNotEqualTo(first);
+		assertThat(jwtUtil.extractAllClaims(other).getId()).isNotEqualTo(jwtUtil.extractAllClaims(first).getId());
+		assertThat(issuedTokenCache.tokenFor(user, OTHER_CLIENT)).isEqualTo(other);
+	}
+
+	@Test
+	void invalidationDropsTheTokensOfEveryClient() {
+		String first = issuedTokenCache.tokenFor(user, CLIENT);
+		String other = issuedTokenCache.tokenFor(user, OTHER_CLIENT);
+
+		issuedTokenCache.invalidate(user.getId());
+
+		assertThat(issuedTokenCache.tokenFor(user, CLIENT)).isNotEqualTo(first);
+		assertThat(issuedTokenCache.tokenFor(user, OTHER_CLIENT)).isNotEqualTo(other);
+	}
+
+	@Test
+	void issuesNewTokenWhenClaimsChange() {
+		String first = issuedTokenCache.tokenFor(user, CLIENT);
+
+		User renamed = User.builder().id(7L).name("Ana María").email("ana@emocional.com").password("x").build();
+
+		assertThat(issuedTokenCache.tokenFor(renamed, CLIENT)).isNotEqualTo(first);
+	}
+
+	@Test
+	void issuesNewTokenAfterInvalidationOrRevocation() {
+		String first = issuedTokenCache.tokenFor(user, CLIENT);
+
+		issuedTokenCache.invalidate(user.getId());
+		String second = issuedTokenCache.tokenFor(user, CLIENT);
+		assertThat(second).isNotEqualTo(first);
+
+		when(tokenRevocationService.isRevoked(any())).thenReturn(true);
+		assertThat(issuedTokenCache.tokenFor(user, CLIENT)).isNotEqualTo(second);
+	}
+
+	@Test
+	void doesNotReuseTokensCloseToExpiry() {
+		IssuedTokenCache strict = new IssuedTokenCache(jwtUtil(), tokenRevocationService, meterRegistry,
+				true, 100, Duration.ofSeconds(30), Duration.ofHours(1));
+
+		// El token dura 15 minutos, menos que la vida restante exigida
+		assertThat(strict.tokenFor(user, CLIENT)).isNotEqualTo(strict.tokenFor(user, CLIENT));
+	}
+
+	private static JwtUtil jwtUtil() {
+		JwtUtil jwtUtil = new JwtUtil();
+		jwtUtil.updateSecret("dGVzdC1zZWNyZXQta2V5LWZvci11bml0LXRlc3RzLW9ubHktMzItYnl0ZXM=");
+		return jwtUtil;
+	}
+}
@@ -0,0 +1,69 @@
+package com.emocional.auth.service;
+
+import com.emocional.auth.dto.LoginRequest;
+import com.emocional.auth.dto.RegisterRequest;
+import com.emocional.auth.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "auth.audit.flush-interval=10ms")
+class LoginAuditServiceTests {
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void recordsLoginOutcomesAndLastLogin() throws InterruptedException {
+		String email = "auditoria-" + UUID.randomUUID() + "@emocional.com";
+		authService.register(registerRequest(email));
+
+		authService.login(loginRequest(email, "secreto123"));
+		assertThatThrownBy(() -> authService.login(loginRequest(email, "incorrecta")))
+				.isInstanceOf(BadCredentialsException.class);
+
+		List<String> outcomes = awaitOutcomes(email, 2);
+		assertThat(outcomes).containsExactlyInAnyOrder("success", "bad_credentials");
+		assertThat(userRepository.findByEmail(email).orElseThrow().getLastLoginAt()).isNotNull();
+	}
+
+	private List<String> awaitOutcomes(String email, int expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		List<String> outcomes;
+		do {
+			Thread.sleep(20);
+			outcomes = jdbcTemplate.queryForList("SELECT outcome FROM login_audit WHERE email = ?", String.class, email);
+		} while (outcomes.size() < expected && System.nanoTime() < deadline);
+		return outcomes;
+	}
+
+	private static RegisterRequest registerRequest(String email) {
+		RegisterRequest request = new RegisterRequest();
+		request.setName("Usuario Test");
+		request.setEmail(email);
+		request.setPassword("secreto123");
+		return request;
+	}
+
+	private static LoginRequest loginRequest(String email, String password) {
+		LoginRequest request = new LoginRequest();
+		request.setEmail(email);
+		request.setPassword(password);
+		return request;
+	}
+}
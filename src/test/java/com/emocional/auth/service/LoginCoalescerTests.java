@@ -0,0 +1,189 @@
+package com.emocional.auth.service;
+
+import com.emocional.auth.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginCoalescerTests {
+
+	private static final String CLIENT = "10.0.0.1 Mozilla/5.0";
+
+	private final User user = User.builder().id(7L).name("Ana").email("ana@emocional.com").password("x").build();
+
+	private SimpleMeterRegistry meterRegistry;
+	private LoginCoalescer loginCoalescer;
+	private ExecutorService executor;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		loginCoalescer = new LoginCoalescer(meterRegistry, true, 100, Duration.ofSeconds(5));
+		executor = Executors.newFixedThreadPool(2);
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void concurrentIdenticalLoginsShareOneVerification() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger verifications = new AtomicInteger();
+
+		Future<LoginCoalescer.Authenticated> leader = executor.submit(() -> loginCoalescer.authenticate(
+				"ana@emocional.com", "secreto123", CLIENT, blockingVerification(verifications, started, release)));
+		started.await(5, TimeUnit.SECONDS);
+		Future<LoginCoalescer.Authenticated> waiter = executor.submit(() -> loginCoalescer.authenticate(
+				"ANA@emocional.com", "secreto123", CLIENT, blockingVerification(verifications, started, release)));
+		awaitCoalesced();
+		release.countDown();
+
+		assertThat(waiter.get(5, TimeUnit.SECONDS)).isSameAs(leader.get(5, TimeUnit.SECONDS));
+		assertThat(verifications).hasValue(1);
+		assertThat(meterRegistry.get("auth.login.coalescing.saved").counter().count()).isPositive();
+	}
+
+	@Test
+	void sameCredentialsFromAnotherClientAreNotCoalesced() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger verifications = new AtomicInteger();
+
+		Future<LoginCoalescer.Authenticated> leader = executor.submit(() -> loginCoalescer.authenticate(
+				"ana@emocional.com", "secreto123", CLIENT, blockingVerification(verifications, started, release)));
+		started.await(5, TimeUnit.SECONDS);
+
+		// Otro dispositivo no debe recibir el JWT (y el jti) del primero
+		LoginCoalescer.Authenticated other = loginCoalescer.authenticate("ana@emocional.com", "secreto123",
+				"10.0.0.2 okhttp/4.12", () -> {
+					verifications.incrementAndGet();
+					return new LoginCoalescer.Authenticated(user, "otro");
+				});
+		release.countDown();
+
+		assertThat(other.accessToken()).isEqualTo("otro");
+		assertThat(leader.get(5, TimeUnit.SECONDS).accessToken()).isEqualTo("token");
+		assertThat(verifications).hasValue(2);
+	}
+
+	@Test
+	void differentPasswordsAreNotCoalesced() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger verifications = new AtomicInteger();
+
+		Future<LoginCoalescer.Authenticated> leader = executor.submit(() -> loginCoalescer.authenticate(
+				"ana@emocional.com", "secreto123", CLIENT, blockingVerification(verifications, started, release)));
+		started.await(5, TimeUnit.SECONDS);
+
+		assertThatThrownBy(() -> loginCoalescer.authenticate("ana@emocional.com", "otraClave", CLIENT, () -> {
+			verifications.incrementAndGet();
+			throw new BadCredentialsException("Bad credentials");
+		})).isInstanceOf(BadCredentialsException.class);
+		release.countDown();
+
+		assertThat(leader.get(5, TimeUnit.SECONDS).accessToken()).isEqualTo("token");
+		assertThat(verifications).hasValue(2);
+	}
+
+	@Test
+	void waitersReceiveTheLeaderFailure() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		Future<LoginCoalescer.Authenticated> leader = executor.submit(() -> loginCoalescer.authenticate(
+				"ana@emocional.com", "incorrecta", CLIENT, () -> {
+					started.countDown();
+					await(release);
+					throw new BadCredentialsException("Bad credentials");
+				}));
+		started.await(5, TimeUnit.SECONDS);
+		Future<LoginCoalescer.Authenticated> waiter = executor.submit(() -> loginCoalescer.authenticate(
+				"ana@emocional.com", "incorrecta", CLIENT, () -> new LoginCoalescer.Authenticated(user, "no-debe-usarse")));
+		awaitCoalesced();
+		release.countDown();
+
+		assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS))
+				.isInstanceOf(ExecutionException.class)
+				.hasCauseInstanceOf(BadCredentialsException.class);
+		assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(BadCredentialsException.class);
+	}
+
+	@Test
+	void leaderErrorDoesNotLeaveTheEntryBehind() {
+		assertThatThrownBy(() -> loginCoalescer.authenticate("ana@emocional.com", "secreto123", CLIENT, () -> {
+			throw new StackOverflowError();
+		})).isInstanceOf(StackOverflowError.class);
+
+		// Sin entrada pendiente el siguiente login verifica en lugar de esperar para siempre
+		assertThat(loginCoalescer.authenticate("ana@emocional.com", "secreto123", CLIENT,
+				() -> new LoginCoalescer.Authenticated(user, "token")).accessToken()).isEqualTo("token");
+	}
+
+	@Test
+	void waiterVerifiesOnItsOwnAfterTimeout() throws Exception {
+		loginCoalescer = new LoginCoalescer(meterRegistry, true, 100, Duration.ofMillis(50));
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger verifications = new AtomicInteger();
+
+		Future<LoginCoalescer.Authenticated> leader = executor.submit(() -> loginCoalescer.authenticate(
+				"ana@emocional.com", "secreto123", CLIENT, blockingVerification(verifications, started, release)));
+		started.await(5, TimeUnit.SECONDS);
+
+		LoginCoalescer.Authenticated own = loginCoalescer.authenticate("ana@emocional.com", "secreto123", CLIENT, () -> {
+			verifications.incrementAndGet();
+			return new LoginCoalescer.Authenticated(user, "propio");
+		});
+		release.countDown();
+
+		assertThat(own.accessToken()).isEqualTo("propio");
+		assertThat(leader.get(5, TimeUnit.SECONDS).accessToken()).isEqualTo("token");
+		assertThat(verifications).hasValue(2);
+		assertThat(meterRegistry.get("auth.login.coalescing").tag("result", "timed_out").counter().count()).isEqualTo(1);
+	}
+
+	private Supplier<LoginCoalescer.Authenticated> blockingVerification(AtomicInteger verifications,
+			CountDownLatch started, CountDownLatch release) {
+		return () -> {
+			verifications.incrementAndGet();
+			started.countDown();
+			await(release);
+			return new LoginCoalescer.Authenticated(user, "token");
+		};
+	}
+
+	private void awaitCoalesced() throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (meterRegistry.get("auth.login.coalescing").tag("result", "coalesced").counter().count() == 0
+				&& System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,142 @@
+package com.emocional.auth.service;
+
+import com.emocional.auth.dto.LoginRequest;
+import com.emocional.auth.dto.RegisterRequest;
+import com.emocional.auth.exception.ServiceOverloadedException;
+import com.emocional.auth.model.User;
+import com.emocional.auth.repository.UserRepository;
+import com.emocional.auth.security.LatencyEqualizer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+		"auth.email-filter.enabled=true",
+		"auth.email-filter.expected-entries=1000",
+		"auth.email-filter.fallback-latency=5ms"
+})
+class RegisteredEmailFilterTests {
+
+	@Autowired
+	private RegisteredEmailFilter registeredEmailFilter;
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void unknownEmailIsRejectedWithoutAuthenticating() {
+		String email = "desconocido-" + UUID.randomUUID() + "@emocional.com";
+		double rejected = meterRegistry.get("auth.email-filter.rejected").counter().count();
+
+		assertThatThrownBy(() -> authService.login(loginRequest(email, "secreto123")))
+				.isInstanceOf(BadCredentialsException.class);
+		assertThat(meterRegistry.get("auth.email-filter.rejected").counter().count()).isEqualTo(rejected + 1);
+	}
+
+	@Test
+	void registeredEmailIsAddedImmediately() {
+		String email = "filtro-" + UUID.randomUUID() + "@emocional.com";
+		authService.register(registerRequest(email, "secreto123"));
+
+		assertThat(registeredEmailFilter.mightBeRegistered(email.toUpperCase())).isTrue();
+		assertThat(authService.login(loginRequest(email, "secreto123")).getToken()).isNotBlank();
+	}
+
+	@Test
+	void rebuildPicksUpUsersCreatedElsewhere() {
+		String email = "externo-" + UUID.randomUUID() + "@emocional.com";
+		// Alta sin pasar por AuthServiceImpl, como la de otra instancia
+		userRepository.save(User.builder().name("Externo").email(email).password("x").build());
+
+		registeredEmailFilter.rebuild();
+
+		assertThat(registeredEmailFilter.mightBeRegistered(email)).isTrue();
+	}
+
+	@Test
+	void addsInterleavedWithRebuildsAreNeverLost() throws InterruptedException {
+		AtomicBoolean done = new AtomicBoolean();
+		Thread rebuilder = new Thread(() -> {
+			while (!done.get()) {
+				registeredEmailFilter.rebuild();
+			}
+		});
+		rebuilder.start();
+		try {
+			for (int i = 0; i < 200; i++) {
+				String email = "concurrente-" + UUID.randomUUID() + "@emocional.com";
+				userRepository.save(User.builder().name("Concurrente").email(email).password("x").build());
+				registeredEmailFilter.add(email);
+
+				assertThat(registeredEmailFilter.mightBeRegistered(email)).isTrue();
+			}
+		} finally {
+			done.set(true);
+			rebuilder.join();
+		}
+	}
+
+	@Test
+	void latencyEqualizerSamplesObservedDurations() {
+		LatencyEqualizer equalizer = new LatencyEqualizer(4, Duration.ofMillis(100), 1, 0, 2);
+		long fallback = equalizer.sampleNanos();
+		assertThat(fallback).isBetween(Duration.ofMillis(75).toNanos(), Duration.ofMillis(125).toNanos());
+
+		equalizer.record(42);
+		assertThat(equalizer.sampleNanos()).isEqualTo(42);
+	}
+
+	@Test
+	void latencyEqualizerWaitsShareTheHashingAdmissionLimit() throws Exception {
+		// Un hilo y sin cola: una sola espera simultánea
+		LatencyEqualizer equalizer = new LatencyEqualizer(4, Duration.ofMillis(100), 1, 0, 2);
+		equalizer.record(Duration.ofSeconds(1).toNanos());
+		Thread waiting = new Thread(equalizer::await);
+		waiting.start();
+		try {
+			Thread.sleep(100);
+
+			assertThatThrownBy(equalizer::await)
+					.isInstanceOfSatisfying(ServiceOverloadedException.class,
+							ex -> assertThat(ex.getRetryAfterSeconds()).isEqualTo(2));
+		} finally {
+			waiting.interrupt();
+			waiting.join();
+		}
+		// Liberado el permiso, la siguiente espera se admite (las cuatro muestras pasan a 1 ns)
+		for (int i = 0; i < 4; i++) {
+			equalizer.record(1);
+		}
+		equalizer.await();
+	}
+
+	private static RegisterRequest registerRequest(String email, String password) {
+		RegisterRequest request = new RegisterRequest();
+		request.setName("Usuario Test");
+		request.setEmail(email);
+		request.setPassword(password);
+		return request;
+	}
+
+	private static LoginRequest loginRequest(String email, String password) {
+		LoginRequest request = new LoginRequest();
+		request.setEmail(email);
+		request.setPassword(password);
+		return request;
+	}
+}
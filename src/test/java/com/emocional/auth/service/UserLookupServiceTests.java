@@ -0,0 +1,54 @@
+package com.emocional.auth.service;
+
+import com.emocional.auth.model.User;
+import com.emocional.auth.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserLookupServiceTests {
+
+	private UserRepository userRepository;
+	private UserLookupService userLookupService;
+
+	@BeforeEach
+	void setUp() {
+		userRepository = mock(UserRepository.class);
+		userLookupService = new UserLookupService(userRepository, new SimpleMeterRegistry(),
+				true, 100, Duration.ofMinutes(5), Duration.ofSeconds(30));
+	}
+
+	@Test
+	void cachesExistingUsers() {
+		User user = User.builder().id(1L).email("a@emocional.com").name("A").password("x").build();
+		when(userRepository.findByEmail("a@emocional.com")).thenReturn(Optional.of(user));
+
+		assertThat(userLookupService.findByEmail("a@emocional.com")).contains(user);
+		assertThat(userLookupService.findByEmail("a@emocional.com")).contains(user);
+		assertThat(userLookupService.isKnownRegistered("a@emocional.com")).isTrue();
+
+		verify(userRepository, times(1)).findByEmail("a@emocional.com");
+	}
+
+	@Test
+	void cachesUnknownEmailsUntilEvicted() {
+		when(userRepository.findByEmail("nuevo@emocional.com")).thenReturn(Optional.empty());
+
+		assertThat(userLookupService.findByEmail("nuevo@emocional.com")).isEmpty();
+		assertThat(userLookupService.findByEmail("nuevo@emocional.com")).isEmpty();
+		verify(userRepository, times(1)).findByEmail("nuevo@emocional.com");
+
+		userLookupService.evict("nuevo@emocional.com");
+		userLookupService.findByEmail("nuevo@emocional.com");
+		verify(userRepository, times(2)).findByEmail("nuevo@emocional.com");
+	}
+}
@@ -0,0 +1,55 @@
+package com.emocional.auth.util;
+
+import com.emocional.auth.model.User;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilTests {
+
+	private final User user = User.builder().id(7L).name("Ana").email("ana@emocional.com").password("x").build();
+
+	@Test
+	void rs256TokensVerifyAfterRotation() {
+		JwtUtil jwtUtil = new JwtUtil();
+		jwtUtil.updateSigningKey(SignatureAlgorithm.RS256, JwtKeys.generateKeyPair(SignatureAlgorithm.RS256));
+		String before = jwtUtil.generateToken(user);
+		String etagBefore = jwtUtil.getJwks().etag();
+
+		jwtUtil.rotateSigningKey();
+		String after = jwtUtil.generateToken(user);
+
+		assertThat(jwtUtil.extractUsername(before)).isEqualTo("ana@emocional.com");
+		assertThat(jwtUtil.extractUsername(after)).isEqualTo("ana@emocional.com");
+		assertThat(jwtUtil.getJwks().etag()).isNotEqualTo(etagBefore);
+		assertThat(jwtUtil.getJwks().json()).contains("\"kty\":\"RSA\"").contains("\"alg\":\"RS256\"");
+	}
+
+	@Test
+	void hs256PublishesEmptyJwks() {
+		JwtUtil jwtUtil = new JwtUtil();
+		jwtUtil.updateSecret("dGVzdC1zZWNyZXQta2V5LWZvci11bml0LXRlc3RzLW9ubHktMzItYnl0ZXM=");
+
+		Long userId = jwtUtil.extractClaim(jwtUtil.generateToken(user), claims -> claims.get("userId", Long.class));
+
+		assertThat(userId).isEqualTo(7L);
+		assertThat(jwtUtil.getJwks().json()).isEqualTo("{\"keys\":[]}");
+	}
+
+	@Test
+	void asymmetricAlgorithmWithoutPrivateKeyFailsUnlessEphemeralKeysAreAllowed() {
+		JwtUtil jwtUtil = new JwtUtil();
+		ReflectionTestUtils.setField(jwtUtil, "signingAlgorithm", "ES256");
+
+		assertThatThrownBy(jwtUtil::init)
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("jwt.signing.private-key");
+
+		ReflectionTestUtils.setField(jwtUtil, "allowEphemeralKeys", true);
+		jwtUtil.init();
+		assertThat(jwtUtil.extractUsername(jwtUtil.generateToken(user))).isEqualTo("ana@emocional.com");
+	}
+}
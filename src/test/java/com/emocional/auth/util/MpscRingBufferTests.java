@@ -0,0 +1,57 @@
+package com.emocional.auth.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MpscRingBufferTests {
+
+	@Test
+	void rejectsWhenFullAndDrainsInOrder() {
+		MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+
+		for (int i = 0; i < 4; i++) {
+			assertThat(buffer.offer(i)).isTrue();
+		}
+		assertThat(buffer.offer(4)).isFalse();
+
+		List<Integer> drained = new ArrayList<>();
+		assertThat(buffer.drain(drained::add, 10)).isEqualTo(4);
+		assertThat(drained).containsExactly(0, 1, 2, 3);
+		assertThat(buffer.offer(5)).isTrue();
+	}
+
+	@Test
+	void concurrentProducersLoseNothingThatWasAccepted() throws InterruptedException {
+		MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(1024);
+		int producers = 4;
+		int perProducer = 10_000;
+		ExecutorService executor = Executors.newFixedThreadPool(producers);
+		CountDownLatch done = new CountDownLatch(producers);
+		for (int p = 0; p < producers; p++) {
+			executor.execute(() -> {
+				for (int i = 0; i < perProducer; i++) {
+					while (!buffer.offer(i)) {
+						Thread.onSpinWait();
+					}
+				}
+				done.countDown();
+			});
+		}
+
+		long consumed = 0;
+		while (consumed < (long) producers * perProducer) {
+			consumed += buffer.drain(value -> { }, 256);
+		}
+		assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(buffer.size()).isZero();
+		executor.shutdown();
+	}
+}